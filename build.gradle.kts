@@ -2,6 +2,7 @@
 plugins {
     id("org.openrewrite.build.recipe-library") version "latest.release"
     id("org.openrewrite.build.moderne-source-available-license") version "latest.release"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "org.openrewrite.recipe"
@@ -43,6 +44,19 @@ dependencies {
 
     testRuntimeOnly("org.openrewrite:rewrite-java-21")
     testRuntimeOnly("com.google.code.findbugs:jsr305:latest.release")
+
+    jmh(platform("org.openrewrite:rewrite-bom:${rewriteVersion}"))
+    jmh("org.openrewrite:rewrite-java")
+    jmh("org.openrewrite:rewrite-java-21")
+}
+
+jmh {
+    jmhVersion = "1.37"
+    fork = 1
+    warmupIterations = 2
+    iterations = 5
+    profilers = listOf("gc")
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes = listOf(it) }
 }
 
 tasks.withType<Test> {
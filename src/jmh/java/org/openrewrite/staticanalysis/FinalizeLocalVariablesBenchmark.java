@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.Space;
+import org.openrewrite.marker.Markers;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Measures {@link FinalizeLocalVariables} over a corpus of {@link #FILES} source files with {@link #METHODS} methods
+ * each, ten thousand methods in total, with two locals to finalize in every method. Run with
+ * {@code ./gradlew jmh -PjmhIncludes=FinalizeLocalVariablesBenchmark}.
+ * <p>
+ * The {@code prefix} and {@code autoFormat} formatting only finalize every initialized local, without the def-use
+ * analysis of the recipe, to isolate the cost of formatting the added modifier with {@link PrefixFormat} against
+ * auto-formatting the whole declaration as the recipe used to. Both are checked to print the same corpus before they
+ * are measured. The {@code recipe} formatting runs the recipe itself.
+ */
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class FinalizeLocalVariablesBenchmark {
+    static final int FILES = 100;
+    static final int METHODS = 100;
+
+    @Param({"recipe", "prefix", "autoFormat"})
+    String formatting;
+
+    List<SourceFile> sourceFiles;
+    TreeVisitor<?, ExecutionContext> visitor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String[] sources = new String[FILES];
+        for (int i = 0; i < FILES; i++) {
+            sources[i] = source("C" + i);
+        }
+        sourceFiles = JavaParser.fromJavaVersion()
+                .build()
+                .parse(new InMemoryExecutionContext(Throwable::printStackTrace), sources)
+                .collect(Collectors.toList());
+        visitor = "recipe".equals(formatting) ? new FinalizeLocalVariables().getVisitor() : finalizer("prefix".equals(formatting));
+        if (!"recipe".equals(formatting)) {
+            assertSameOutput();
+        }
+    }
+
+    /**
+     * Comparing the timings of {@code prefix} and {@code autoFormat} is only meaningful if both print the same corpus.
+     */
+    private void assertSameOutput() {
+        TreeVisitor<?, ExecutionContext> prefix = finalizer(true);
+        TreeVisitor<?, ExecutionContext> autoFormat = finalizer(false);
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        for (SourceFile sourceFile : sourceFiles) {
+            Tree byPrefix = prefix.visit(sourceFile, ctx);
+            Tree byAutoFormat = autoFormat.visit(sourceFile, ctx);
+            String expected = byAutoFormat == null ? "" : ((SourceFile) byAutoFormat).printAll();
+            String actual = byPrefix == null ? "" : ((SourceFile) byPrefix).printAll();
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException("Formatting with prefix differs from autoFormat for " +
+                                                sourceFile.getSourcePath() + ":\n" + actual);
+            }
+        }
+    }
+
+    @Benchmark
+    public void finalizeLocals(Blackhole blackhole) {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        for (SourceFile sourceFile : sourceFiles) {
+            blackhole.consume(visitor.visit(sourceFile, ctx));
+        }
+    }
+
+    private static String source(String name) {
+        StringBuilder source = new StringBuilder("class ").append(name).append(" {\n");
+        for (int i = 0; i < METHODS; i++) {
+            source.append("    int m").append(i).append("(int a) {\n")
+                    .append("        int b = a + ").append(i).append(";\n")
+                    .append("        String s = String.valueOf(b);\n")
+                    .append("        return s.length() + b;\n")
+                    .append("    }\n");
+        }
+        return source.append("}\n").toString();
+    }
+
+    private static TreeVisitor<?, ExecutionContext> finalizer(boolean prefix) {
+        return new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.VariableDeclarations visitVariableDeclarations(J.VariableDeclarations multiVariable, ExecutionContext ctx) {
+                J.VariableDeclarations mv = super.visitVariableDeclarations(multiVariable, ctx);
+                if (mv.getVariables().get(0).getInitializer() == null) {
+                    return mv;
+                }
+                if (prefix) {
+                    return PrefixFormat.addModifier(mv, J.Modifier.Type.Final);
+                }
+                return autoFormat(mv.withModifiers(ListUtils.concat(mv.getModifiers(),
+                        new J.Modifier(Tree.randomId(), Space.EMPTY, Markers.EMPTY, null, J.Modifier.Type.Final, emptyList()))), ctx);
+            }
+        };
+    }
+}
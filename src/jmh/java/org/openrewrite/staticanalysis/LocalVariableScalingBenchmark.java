@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaParser;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the local variable recipes scale with the number of locals in a single method. With the
+ * shared {@link DefUseIndex} the time per local should stay flat as {@code locals} grows.
+ */
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class LocalVariableScalingBenchmark {
+
+    @Param({"RemoveUnusedLocalVariables", "FinalizeLocalVariables"})
+    String recipe;
+
+    @Param({"100", "200", "400", "800", "1600"})
+    int locals;
+
+    SourceFile sourceFile;
+    TreeVisitor<?, ExecutionContext> visitor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sourceFile = JavaParser.fromJavaVersion()
+                .build()
+                .parse(SyntheticSource.locals(locals))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        visitor = RecipeVisitorBenchmark.recipe(recipe).getVisitor();
+    }
+
+    @Benchmark
+    public void visit(Blackhole blackhole) {
+        blackhole.consume(visitor.visit(sourceFile, new InMemoryExecutionContext()));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaParser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures the visitor throughput of the heaviest recipes over compilation units that are parsed once per trial.
+ * Run with {@code ./gradlew jmh}, and add {@code -PjmhIncludes=RecipeVisitorBenchmark} to run only this benchmark.
+ * Allocation rates are reported by the GC profiler configured in the build.
+ */
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RecipeVisitorBenchmark {
+
+    @Param({
+            "CombineSemanticallyEqualCatchBlocks",
+            "InstanceOfPatternMatch",
+            "UseTryWithResources",
+            "RemoveUnusedLocalVariables",
+            "FinalizeLocalVariables"
+    })
+    String recipe;
+
+    /**
+     * One of the synthetic shapes of {@link SyntheticSource#shape(String)}, or {@code self} to use the sources
+     * of this module as a real-world corpus.
+     */
+    @Param({"small", "long", "deep", "catches", "switches", "lambdas", "self"})
+    String shape;
+
+    List<SourceFile> sourceFiles;
+    TreeVisitor<?, ExecutionContext> visitor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        String[] sources = "self".equals(shape) ?
+                moduleSources() :
+                new String[]{SyntheticSource.shape(shape).render()};
+        sourceFiles = JavaParser.fromJavaVersion()
+                .classpath(JavaParser.runtimeClasspath())
+                .build()
+                .parse(ctx, sources)
+                .collect(Collectors.toList());
+        visitor = recipe(recipe).getVisitor();
+    }
+
+    @Benchmark
+    public void visit(Blackhole blackhole) {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        for (SourceFile sourceFile : sourceFiles) {
+            blackhole.consume(visitor.visit(sourceFile, ctx));
+        }
+    }
+
+    static Recipe recipe(String name) {
+        switch (name) {
+            case "CombineSemanticallyEqualCatchBlocks":
+                return new CombineSemanticallyEqualCatchBlocks();
+            case "InstanceOfPatternMatch":
+                return new InstanceOfPatternMatch();
+            case "UseTryWithResources":
+                return new UseTryWithResources();
+            case "RemoveUnusedLocalVariables":
+                return new RemoveUnusedLocalVariables(null, null, null);
+            case "FinalizeLocalVariables":
+                return new FinalizeLocalVariables();
+            default:
+                throw new IllegalArgumentException("Unknown recipe " + name);
+        }
+    }
+
+    private static String[] moduleSources() {
+        Path dir = Paths.get("src/main/java/org/openrewrite/staticanalysis");
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                    .filter(f -> f.toString().endsWith(".java"))
+                    .sorted()
+                    .map(f -> {
+                        try {
+                            return new String(Files.readAllBytes(f));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .toArray(String[]::new);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
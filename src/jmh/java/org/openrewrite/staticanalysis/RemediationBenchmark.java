@@ -0,0 +1,222 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.tree.J;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the cost of a single fix of the remediation recipes that build their replacement trees directly, against
+ * the {@code contextSensitive()} templates they used to compile for every match. Each source file has exactly one
+ * match, so the reported time is per match. Run with {@code ./gradlew jmh -PjmhIncludes=RemediationBenchmark}; the
+ * {@code direct} implementation is expected to be at least an order of magnitude faster than {@code template}.
+ * <p>
+ * The {@code template} visitors only apply the template that the recipe used to compile, without any of its
+ * matching logic, so the comparison is in favor of the templates.
+ */
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@OperationsPerInvocation(RemediationBenchmark.MATCHES)
+@State(Scope.Benchmark)
+public class RemediationBenchmark {
+    static final int MATCHES = 20;
+
+    @Param({
+            "BigDecimalRoundingConstantsToEnums",
+            "ExplicitCharsetOnStringGetBytes",
+            "HideUtilityClassConstructor",
+            "ExternalizableHasNoArgsConstructor",
+            "CovariantEquals"
+    })
+    String recipe;
+
+    @Param({"direct", "template"})
+    String implementation;
+
+    List<SourceFile> sourceFiles;
+    TreeVisitor<?, ExecutionContext> visitor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String[] sources = new String[MATCHES];
+        for (int i = 0; i < MATCHES; i++) {
+            sources[i] = source(recipe, "C" + i);
+        }
+        sourceFiles = JavaParser.fromJavaVersion()
+                .classpath(JavaParser.runtimeClasspath())
+                .build()
+                .parse(new InMemoryExecutionContext(Throwable::printStackTrace), sources)
+                .collect(Collectors.toList());
+        visitor = "direct".equals(implementation) ? direct(recipe) : template(recipe);
+    }
+
+    @Benchmark
+    public void fix(Blackhole blackhole) {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        for (SourceFile sourceFile : sourceFiles) {
+            blackhole.consume(visitor.visit(sourceFile, ctx));
+        }
+    }
+
+    private static String source(String recipe, String name) {
+        switch (recipe) {
+            case "BigDecimalRoundingConstantsToEnums":
+                return "import java.math.BigDecimal;\n" +
+                       "class " + name + " {\n" +
+                       "    BigDecimal divide(BigDecimal a, BigDecimal b) {\n" +
+                       "        return a.divide(b, BigDecimal.ROUND_DOWN);\n" +
+                       "    }\n" +
+                       "}\n";
+            case "ExplicitCharsetOnStringGetBytes":
+                return "class " + name + " {\n" +
+                       "    byte[] bytes(String s) {\n" +
+                       "        return s.getBytes();\n" +
+                       "    }\n" +
+                       "}\n";
+            case "HideUtilityClassConstructor":
+                return "public class " + name + " {\n" +
+                       "    public static int twice(int a) {\n" +
+                       "        return a * 2;\n" +
+                       "    }\n" +
+                       "}\n";
+            case "ExternalizableHasNoArgsConstructor":
+                return "import java.io.*;\n" +
+                       "public class " + name + " implements Externalizable {\n" +
+                       "    private String a;\n" +
+                       "    public " + name + "(String a) {\n" +
+                       "        this.a = a;\n" +
+                       "    }\n" +
+                       "    public void writeExternal(ObjectOutput out) throws IOException {}\n" +
+                       "    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {}\n" +
+                       "}\n";
+            case "CovariantEquals":
+                return "class " + name + " {\n" +
+                       "    int n;\n" +
+                       "    public boolean equals(" + name + " other) {\n" +
+                       "        return n == other.n;\n" +
+                       "    }\n" +
+                       "}\n";
+            default:
+                throw new IllegalArgumentException("Unknown recipe " + recipe);
+        }
+    }
+
+    private static TreeVisitor<?, ExecutionContext> direct(String recipe) {
+        switch (recipe) {
+            case "BigDecimalRoundingConstantsToEnums":
+                return new BigDecimalRoundingConstantsToEnums().getVisitor();
+            case "ExplicitCharsetOnStringGetBytes":
+                return new ExplicitCharsetOnStringGetBytes(null).getVisitor();
+            case "HideUtilityClassConstructor":
+                return new HideUtilityClassConstructor().getVisitor();
+            case "ExternalizableHasNoArgsConstructor":
+                return new ExternalizableHasNoArgsConstructor().getVisitor();
+            case "CovariantEquals":
+                return new CovariantEquals().getVisitor();
+            default:
+                throw new IllegalArgumentException("Unknown recipe " + recipe);
+        }
+    }
+
+    private static TreeVisitor<?, ExecutionContext> template(String recipe) {
+        switch (recipe) {
+            case "BigDecimalRoundingConstantsToEnums":
+                return new JavaIsoVisitor<ExecutionContext>() {
+                    @Override
+                    public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                        J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
+                        if (!"divide".equals(m.getSimpleName())) {
+                            return m;
+                        }
+                        return JavaTemplate.builder("#{any(java.math.BigDecimal)}, #{}")
+                                .contextSensitive()
+                                .imports("java.math.RoundingMode")
+                                .build()
+                                .apply(updateCursor(m), m.getCoordinates().replaceArguments(), m.getArguments().get(0), "RoundingMode.DOWN");
+                    }
+                };
+            case "ExplicitCharsetOnStringGetBytes":
+                return new JavaIsoVisitor<ExecutionContext>() {
+                    @Override
+                    public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                        J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
+                        if (!"getBytes".equals(m.getSimpleName())) {
+                            return m;
+                        }
+                        return JavaTemplate.builder("getBytes(StandardCharsets.#{})")
+                                .contextSensitive()
+                                .imports("java.nio.charset.StandardCharsets")
+                                .build()
+                                .apply(updateCursor(m), m.getCoordinates().replaceMethod(), "UTF_8");
+                    }
+                };
+            case "HideUtilityClassConstructor":
+                return new JavaIsoVisitor<ExecutionContext>() {
+                    @Override
+                    public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+                        return JavaTemplate.builder("private #{}() {}")
+                                .contextSensitive()
+                                .build()
+                                .apply(getCursor(), classDecl.getBody().getCoordinates().lastStatement(), classDecl.getSimpleName());
+                    }
+                };
+            case "ExternalizableHasNoArgsConstructor":
+                return new JavaIsoVisitor<ExecutionContext>() {
+                    @Override
+                    public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+                        return JavaTemplate.builder("public " + classDecl.getSimpleName() + "() {}")
+                                .contextSensitive()
+                                .build()
+                                .apply(getCursor(), classDecl.getBody().getCoordinates().lastStatement());
+                    }
+                };
+            case "CovariantEquals":
+                return new JavaIsoVisitor<ExecutionContext>() {
+                    @Override
+                    public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+                        if (method.getBody() == null) {
+                            return method;
+                        }
+                        String name = getCursor().firstEnclosingOrThrow(J.ClassDeclaration.class).getSimpleName();
+                        return JavaTemplate.builder("if (#{} == this) return true;\n" +
+                                                    "if (#{} == null || getClass() != #{}.getClass()) return false;\n" +
+                                                    "#{} #{} = (#{}) #{};\n")
+                                .contextSensitive()
+                                .build()
+                                .apply(getCursor(), method.getBody().getStatements().get(0).getCoordinates().before(),
+                                        "obj", "obj", "obj", name, "other", name, "obj");
+                    }
+                };
+            default:
+                throw new IllegalArgumentException("Unknown recipe " + recipe);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+/**
+ * Generates a compilation unit whose size is controlled by the number of methods, the nesting depth of each
+ * method body and the number of catch, switch case and lambda nodes in it.
+ */
+final class SyntheticSource {
+    private final int methods;
+    private final int nestingDepth;
+    private final int catchClauses;
+    private final int switchCases;
+    private final int lambdas;
+
+    SyntheticSource(int methods, int nestingDepth, int catchClauses, int switchCases, int lambdas) {
+        this.methods = methods;
+        this.nestingDepth = nestingDepth;
+        this.catchClauses = catchClauses;
+        this.switchCases = switchCases;
+        this.lambdas = lambdas;
+    }
+
+    /**
+     * A shape named by the dimension it stresses, sized so that each one takes roughly the same time to parse.
+     */
+    static SyntheticSource shape(String name) {
+        switch (name) {
+            case "long":
+                return new SyntheticSource(200, 1, 2, 2, 2);
+            case "deep":
+                return new SyntheticSource(10, 32, 2, 2, 2);
+            case "catches":
+                return new SyntheticSource(10, 1, 40, 2, 2);
+            case "switches":
+                return new SyntheticSource(10, 1, 2, 200, 2);
+            case "lambdas":
+                return new SyntheticSource(10, 1, 2, 2, 100);
+            case "small":
+            default:
+                return new SyntheticSource(10, 1, 2, 2, 2);
+        }
+    }
+
+    /**
+     * @param locals The number of local variables, half of them unused and none of them reassigned.
+     * @return a single method with the given number of locals.
+     */
+    static String locals(int locals) {
+        StringBuilder source = new StringBuilder("class Locals {\n    int method() {\n        int sum = 0;\n");
+        for (int i = 0; i < locals; i++) {
+            source.append("        int v").append(i).append(" = ").append(i).append(";\n");
+            if (i % 2 == 0) {
+                source.append("        sum += v").append(i).append(";\n");
+            }
+        }
+        return source.append("        return sum;\n    }\n}\n").toString();
+    }
+
+    String render() {
+        StringBuilder source = new StringBuilder();
+        source.append("import java.io.*;\n");
+        source.append("import java.util.function.Function;\n\n");
+        source.append("class Synthetic {\n");
+        for (int i = 0; i < catchClauses; i++) {
+            source.append("    static class E").append(i).append(" extends Exception {}\n");
+        }
+        source.append("\n    void mayThrow(int i) throws ");
+        for (int i = 0; i < catchClauses; i++) {
+            source.append(i == 0 ? "" : ", ").append('E').append(i);
+        }
+        source.append(" {\n");
+        for (int i = 0; i < catchClauses; i++) {
+            source.append("        if (i == ").append(i).append(") throw new E").append(i).append("();\n");
+        }
+        source.append("    }\n");
+        for (int m = 0; m < methods; m++) {
+            method(source, m);
+        }
+        return source.append("}\n").toString();
+    }
+
+    private void method(StringBuilder source, int m) {
+        source.append("\n    int method").append(m).append("(Object o, int n) throws IOException {\n");
+        source.append("        int total = 0;\n");
+
+        String indent = "        ";
+        for (int d = 0; d < nestingDepth; d++) {
+            source.append(indent).append("if (n > ").append(d).append(") {\n");
+            indent += "    ";
+        }
+        source.append(indent).append("total++;\n");
+        for (int d = nestingDepth - 1; d >= 0; d--) {
+            indent = indent.substring(4);
+            source.append(indent).append("}\n");
+        }
+
+        source.append("        if (o instanceof String) {\n");
+        source.append("            total += ((String) o).length();\n");
+        source.append("        }\n");
+
+        source.append("        try {\n");
+        source.append("            mayThrow(n);\n");
+        source.append("        }");
+        for (int c = 0; c < catchClauses; c++) {
+            source.append(" catch (E").append(c).append(" e) {\n");
+            source.append("            total--;\n");
+            source.append("        }");
+        }
+        source.append('\n');
+
+        source.append("        InputStream in = new FileInputStream(\"f\");\n");
+        source.append("        try {\n");
+        source.append("            total += in.read();\n");
+        source.append("        } finally {\n");
+        source.append("            in.close();\n");
+        source.append("        }\n");
+
+        source.append("        switch (n) {\n");
+        for (int c = 0; c < switchCases; c++) {
+            source.append("            case ").append(c).append(":\n");
+            source.append("                total += ").append(c).append(";\n");
+            source.append("                break;\n");
+        }
+        source.append("            default:\n");
+        source.append("                break;\n");
+        source.append("        }\n");
+
+        for (int l = 0; l < lambdas; l++) {
+            source.append("        Function<Integer, Integer> f").append(l).append(" = x -> {\n");
+            source.append("            return x + ").append(l).append(";\n");
+            source.append("        };\n");
+            source.append("        total = f").append(l).append(".apply(total);\n");
+        }
+
+        source.append("        return total;\n");
+        source.append("    }\n");
+    }
+}
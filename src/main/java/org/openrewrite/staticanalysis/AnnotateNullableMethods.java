@@ -27,12 +27,12 @@ import org.openrewrite.java.tree.TypeTree;
 import org.openrewrite.staticanalysis.java.MoveFieldAnnotationToType;
 
 import java.util.*;
-import java.util.Locale;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
 
 @EqualsAndHashCode(callSuper = false)
 @Value
-public class AnnotateNullableMethods extends Recipe {
+public class AnnotateNullableMethods extends ScanningRecipe<NullableReturnSummaries> {
 
     private static final String DEFAULT_NULLABLE_ANN_CLASS = "org.jspecify.annotations.Nullable";
 
@@ -66,7 +66,8 @@ public class AnnotateNullableMethods extends Recipe {
             "Methods that already carry a known nullable annotation (matched by simple name) are skipped to avoid duplication. " +
             "This recipe scans for methods that do not already have a `@Nullable` annotation and checks their return " +
             "statements for potential null values. It also identifies known methods from standard libraries that may " +
-            "return null, such as methods from `Map`, `Queue`, `Deque`, `NavigableSet`, and `Spliterator`. " +
+            "return null, such as methods from `Map`, `Queue`, `Deque`, `NavigableSet`, and `Spliterator`, " +
+            "and methods anywhere in the repository that return the result of such a method. " +
             "The return of streams, or lambdas are not taken into account.";
 
     @Override
@@ -77,30 +78,46 @@ public class AnnotateNullableMethods extends Recipe {
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getVisitor() {
-        String fullyQualifiedName = nullableAnnotationClass != null ? nullableAnnotationClass : DEFAULT_NULLABLE_ANN_CLASS;
-        String fullyQualifiedPackage = fullyQualifiedName.substring(0, fullyQualifiedName.lastIndexOf('.'));
-        String simpleName = fullyQualifiedName.substring(fullyQualifiedName.lastIndexOf('.') + 1);
+    public NullableReturnSummaries getInitialValue(ExecutionContext ctx) {
+        return new NullableReturnSummaries();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(NullableReturnSummaries summaries) {
+        AnnotationMatcher annotationMatcher = new AnnotationMatcher("@" + fullyQualifiedName());
+        return new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration methodDeclaration, ExecutionContext ctx) {
+                JavaType.Method methodType = methodDeclaration.getMethodType();
+                if (methodType != null) {
+                    if (hasNullableAnnotation(methodDeclaration, annotationMatcher::matches)) {
+                        summaries.addNullable(methodType);
+                    } else if (isCandidate(methodDeclaration)) {
+                        FindNullableReturnStatements.Returns returns = FindNullableReturnStatements.find(methodDeclaration.getBody(), getCursor());
+                        summaries.add(methodType, returns.returnsNull, returns.calls);
+                    }
+                }
+                return super.visitMethodDeclaration(methodDeclaration, ctx);
+            }
+        };
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(NullableReturnSummaries summaries) {
+        String fullyQualifiedName = fullyQualifiedName();
         boolean isTypeUseAnnotation = TYPE_USE_NULLABLE_ANNOTATIONS.contains(fullyQualifiedName);
 
-        JavaIsoVisitor<ExecutionContext> javaIsoVisitor = new JavaIsoVisitor<ExecutionContext>() {
+        return new JavaIsoVisitor<ExecutionContext>() {
             @Override
             public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration methodDeclaration, ExecutionContext ctx) {
-                if (!methodDeclaration.hasModifier(J.Modifier.Type.Public) ||
-                        methodDeclaration.getMethodType() == null ||
-                        methodDeclaration.getMethodType().getReturnType() instanceof JavaType.Primitive ||
-                        hasAnyNullableAnnotation(methodDeclaration)) {
+                if (!isCandidate(methodDeclaration)) {
                     return methodDeclaration;
                 }
 
                 J.MethodDeclaration md = super.visitMethodDeclaration(methodDeclaration, ctx);
                 updateCursor(md);
-                if (FindNullableReturnStatements.find(md.getBody(), getCursor().getParentTreeCursor(), nullableAnnotationClass)) {
-                    J.MethodDeclaration annotatedMethod = JavaTemplate.builder("@" + fullyQualifiedName)
-                            .javaParser(JavaParser.fromJavaVersion().dependsOn(
-                                    String.format("package %s;public @interface %s {}", fullyQualifiedPackage, simpleName)))
-                            .build()
-                            .apply(getCursor(), md.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)));
+                if (summaries.isNullable(md.getMethodType())) {
+                    J.MethodDeclaration annotatedMethod = JavaElementFactory.addAnnotation(md, JavaElementFactory.newAnnotation(fullyQualifiedName, true, ctx));
                     doAfterVisit(ShortenFullyQualifiedTypeReferences.modifyOnly(annotatedMethod));
 
                     // TYPE_USE annotations are moved to the return type position (e.g. public @Nullable String foo())
@@ -115,44 +132,57 @@ public class AnnotateNullableMethods extends Recipe {
                 }
                 return md;
             }
+        };
+    }
 
-            /**
-             * Checks whether the method declaration already has any known nullable annotation,
-             * either as a method-level annotation or anywhere on the return type.
-             */
-            private boolean hasAnyNullableAnnotation(J.MethodDeclaration methodDeclaration) {
-                // Check method-level annotations
-                for (J.Annotation annotation : methodDeclaration.getLeadingAnnotations()) {
-                    if (isNullAnnotation(annotation)) {
-                        return true;
+    private String fullyQualifiedName() {
+        return nullableAnnotationClass != null ? nullableAnnotationClass : DEFAULT_NULLABLE_ANN_CLASS;
+    }
+
+    /**
+     * Whether the method is one this recipe annotates when it may return null.
+     */
+    private static boolean isCandidate(J.MethodDeclaration methodDeclaration) {
+        return methodDeclaration.hasModifier(J.Modifier.Type.Public) &&
+                methodDeclaration.getMethodType() != null &&
+                !(methodDeclaration.getMethodType().getReturnType() instanceof JavaType.Primitive) &&
+                !hasNullableAnnotation(methodDeclaration, AnnotateNullableMethods::isNullAnnotation);
+    }
+
+    /**
+     * Checks whether the method declaration has a matching annotation,
+     * either as a method-level annotation or anywhere on the return type.
+     */
+    private static boolean hasNullableAnnotation(J.MethodDeclaration methodDeclaration, Predicate<J.Annotation> matches) {
+        // Check method-level annotations
+        for (J.Annotation annotation : methodDeclaration.getLeadingAnnotations()) {
+            if (matches.test(annotation)) {
+                return true;
+            }
+        }
+        // Scan the entire return type tree for any matching annotation.
+        // Uses a TreeVisitor to reliably traverse all AST node types regardless of structure
+        // (J.AnnotatedType, J.FieldAccess with annotated names, J.ArrayType with bracket annotations, etc.)
+        TypeTree returnType = methodDeclaration.getReturnTypeExpression();
+        if (returnType != null) {
+            return new JavaIsoVisitor<AtomicBoolean>() {
+                @Override
+                public J.Annotation visitAnnotation(J.Annotation annotation, AtomicBoolean found) {
+                    if (matches.test(annotation)) {
+                        found.set(true);
                     }
+                    return annotation;
                 }
-                // Scan the entire return type tree for any annotation with a known nullable simple name.
-                // Uses a TreeVisitor to reliably traverse all AST node types regardless of structure
-                // (J.AnnotatedType, J.FieldAccess with annotated names, J.ArrayType with bracket annotations, etc.)
-                TypeTree returnType = methodDeclaration.getReturnTypeExpression();
-                if (returnType != null) {
-                    return new JavaIsoVisitor<AtomicBoolean>() {
-                        @Override
-                        public J.Annotation visitAnnotation(J.Annotation annotation, AtomicBoolean found) {
-                            if (isNullAnnotation(annotation)) {
-                                found.set(true);
-                            }
-                            return annotation;
-                        }
-                    }.reduce(returnType, new AtomicBoolean(false), getCursor()).get();
-                }
-                return false;
-            }
+            }.reduce(returnType, new AtomicBoolean(false)).get();
+        }
+        return false;
+    }
 
-            private boolean isNullAnnotation(J.Annotation ann) {
-                return ann.getSimpleName().toLowerCase(Locale.ROOT).contains("null");
-            }
-        };
-        return Repeat.repeatUntilStable(javaIsoVisitor, 5);
+    private static boolean isNullAnnotation(J.Annotation ann) {
+        return ann.getSimpleName().toLowerCase(Locale.ROOT).contains("null");
     }
 
-    private static class FindNullableReturnStatements extends JavaIsoVisitor<AtomicBoolean> {
+    private static class FindNullableReturnStatements extends JavaIsoVisitor<FindNullableReturnStatements.Returns> {
 
         private static final List<MethodMatcher> KNOWN_NULLABLE_METHODS = Arrays.asList(
                 // These mostly return a nullable current or  previous value, which is more often null
@@ -195,48 +225,58 @@ public class AnnotateNullableMethods extends Recipe {
                 new MethodMatcher("java.util.Spliterator trySplit(..)")
         );
 
-        private final String nullableAnnotationClass;
+        static class Returns {
+            boolean returnsNull;
 
-        private FindNullableReturnStatements(@Nullable String nullableAnnotationClass) {
-            this.nullableAnnotationClass = Optional.ofNullable(nullableAnnotationClass).orElse(DEFAULT_NULLABLE_ANN_CLASS);
+            /**
+             * Calls whose result is returned, which return null when the method they call does.
+             */
+            final List<JavaType.Method> calls = new ArrayList<>();
         }
 
-        static boolean find(@Nullable J subtree, Cursor parentTreeCursor, @Nullable String nullableAnnotationClass) {
-            return new FindNullableReturnStatements(nullableAnnotationClass).reduce(subtree, new AtomicBoolean(), parentTreeCursor).get();
+        static Returns find(@Nullable J subtree, Cursor parentTreeCursor) {
+            return new FindNullableReturnStatements().reduce(subtree, new Returns(), parentTreeCursor);
         }
 
         @Override
-        public J.Lambda visitLambda(J.Lambda lambda, AtomicBoolean atomicBoolean) {
+        public J.Lambda visitLambda(J.Lambda lambda, Returns returns) {
             // Do not evaluate return statements in lambdas
             return lambda;
         }
 
         @Override
-        public J.NewClass visitNewClass(J.NewClass newClass, AtomicBoolean atomicBoolean) {
+        public J.NewClass visitNewClass(J.NewClass newClass, Returns returns) {
             // Do not evaluate return statements in new class expressions
             return newClass;
         }
 
         @Override
-        public J.Return visitReturn(J.Return retrn, AtomicBoolean found) {
-            if (found.get()) {
+        public J.Return visitReturn(J.Return retrn, Returns returns) {
+            if (returns.returnsNull) {
                 return retrn;
             }
-            J.Return r = super.visitReturn(retrn, found);
-            found.set(maybeIsNull(r.getExpression()));
+            J.Return r = super.visitReturn(retrn, returns);
+            returns.returnsNull = maybeIsNull(r.getExpression(), returns);
             return r;
         }
 
-        private boolean maybeIsNull(@Nullable Expression returnExpression) {
+        private boolean maybeIsNull(@Nullable Expression returnExpression, Returns returns) {
             if (returnExpression instanceof J.Literal) {
                 return ((J.Literal) returnExpression).getValue() == null;
             }
             if (returnExpression instanceof J.MethodInvocation) {
-                return isLocalNullableMethod((J.MethodInvocation) returnExpression) || isKnownNullableMethod((J.MethodInvocation) returnExpression);
+                J.MethodInvocation methodInvocation = (J.MethodInvocation) returnExpression;
+                if (isKnownNullableMethod(methodInvocation)) {
+                    return true;
+                }
+                if (methodInvocation.getMethodType() != null) {
+                    returns.calls.add(methodInvocation.getMethodType());
+                }
+                return false;
             }
             if (returnExpression instanceof J.Ternary) {
                 J.Ternary ternary = (J.Ternary) returnExpression;
-                return maybeIsNull(ternary.getTruePart()) || maybeIsNull(ternary.getFalsePart());
+                return maybeIsNull(ternary.getTruePart(), returns) || maybeIsNull(ternary.getFalsePart(), returns);
             }
             return false;
         }
@@ -249,34 +289,5 @@ public class AnnotateNullableMethods extends Recipe {
             }
             return false;
         }
-
-        private boolean isLocalNullableMethod(J.MethodInvocation methodInvocation) {
-            JavaType.Method targetMethod = methodInvocation.getMethodType();
-            if (targetMethod == null) {
-                return false;
-            }
-
-            // Visit the entire compilation unit to find the method declaration
-            AnnotationMatcher annotationMatcher = new AnnotationMatcher("@" + nullableAnnotationClass);
-            SourceFile sf = getCursor().firstEnclosingOrThrow(SourceFile.class);
-            return new JavaIsoVisitor<AtomicBoolean>() {
-                @Override
-                public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, AtomicBoolean p) {
-                    if (p.get()) {
-                        return method;
-                    }
-                    if (targetMethod.equals(method.getMethodType()) && method.getReturnTypeExpression() instanceof J.AnnotatedType) {
-                        for (J.Annotation annotation : ((J.AnnotatedType) method.getReturnTypeExpression()).getAnnotations()) {
-                            if (annotationMatcher.matches(annotation)) {
-                                p.set(true);
-                                break;
-                            }
-                        }
-                        return method;
-                    }
-                    return super.visitMethodDeclaration(method, p);
-                }
-            }.reduce(sf, new AtomicBoolean(false)).get();
-        }
     }
 }
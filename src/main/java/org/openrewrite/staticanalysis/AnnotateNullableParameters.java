@@ -32,7 +32,6 @@ import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.util.Collections.singletonList;
-import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.toList;
 
 @EqualsAndHashCode(callSuper = false)
@@ -94,7 +93,6 @@ public class AnnotateNullableParameters extends Recipe {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         String fullyQualifiedName = nullableAnnotationClass != null ? nullableAnnotationClass : DEFAULT_NULLABLE_ANN_CLASS;
-        String fullyQualifiedPackage = fullyQualifiedName.substring(0, fullyQualifiedName.lastIndexOf('.'));
         String simpleName = fullyQualifiedName.substring(fullyQualifiedName.lastIndexOf('.') + 1);
         return new JavaIsoVisitor<ExecutionContext>() {
             @Override
@@ -117,12 +115,7 @@ public class AnnotateNullableParameters extends Recipe {
                     if (stm instanceof J.VariableDeclarations) {
                         J.VariableDeclarations vd = (J.VariableDeclarations) stm;
                         if (containsIdentifierByName(nullCheckedIdentifiers, candidateIdentifiers.get(vd))) {
-                            J.VariableDeclarations annotated = JavaTemplate.builder("@" + fullyQualifiedName)
-                                    .javaParser(JavaParser.fromJavaVersion().dependsOn(
-                                            String.format("package %s;public @interface %s {}", fullyQualifiedPackage, simpleName)))
-                                    .build()
-                                    .apply(new Cursor(getCursor(), vd),
-                                            vd.getCoordinates().addAnnotation(comparing(J.Annotation::getSimpleName)));
+                            J.VariableDeclarations annotated = JavaElementFactory.addAnnotation(vd, JavaElementFactory.newAnnotation(fullyQualifiedName, true, ctx));
 
                             // TYPE_USE annotations can be positioned on array brackets and before inner types
                             // of nested types; declaration-target annotations stay as leading annotations
@@ -17,7 +17,6 @@ package org.openrewrite.staticanalysis;
 
 import lombok.Getter;
 import org.openrewrite.*;
-import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.Expression;
@@ -49,8 +48,8 @@ public class AvoidBoxedBooleanExpressions extends Recipe {
                 Expression e = (Expression) super.visitExpression(expression, ctx);
                 if (TypeUtils.isOfClassType(e.getType(), "java.lang.Boolean")) {
                     if (isControlExpression(expression)) {
-                        return JavaTemplate.apply("Boolean.TRUE.equals(#{any(java.lang.Boolean)})",
-                                updateCursor(e), e.getCoordinates().replace(), e);
+                        return TemplateCache.get("Boolean.TRUE.equals(#{any(java.lang.Boolean)})")
+                                .apply(updateCursor(e), e.getCoordinates().replace(), e);
                     }
                 }
                 return e;
@@ -60,8 +59,8 @@ public class AvoidBoxedBooleanExpressions extends Recipe {
             public J visitUnary(J.Unary unary, ExecutionContext ctx) {
                 J.Unary un = (J.Unary) super.visitUnary(unary, ctx);
                 if (J.Unary.Type.Not == un.getOperator() && TypeUtils.isOfClassType(un.getExpression().getType(), "java.lang.Boolean")) {
-                    return JavaTemplate.apply("Boolean.FALSE.equals(#{any(java.lang.Boolean)})",
-                            updateCursor(un), un.getCoordinates().replace(), un.getExpression());
+                    return TemplateCache.get("Boolean.FALSE.equals(#{any(java.lang.Boolean)})")
+                            .apply(updateCursor(un), un.getCoordinates().replace(), un.getExpression());
                 }
                 return un;
             }
@@ -21,10 +21,11 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeUtils;
@@ -37,6 +38,7 @@ public class BigDecimalRoundingConstantsToEnums extends Recipe {
     private static final MethodMatcher BIG_DECIMAL_DIVIDE = new MethodMatcher("java.math.BigDecimal divide(java.math.BigDecimal, int)");
     private static final MethodMatcher BIG_DECIMAL_DIVIDE_WITH_SCALE = new MethodMatcher("java.math.BigDecimal divide(java.math.BigDecimal, int, int)");
     private static final MethodMatcher BIG_DECIMAL_SET_SCALE = new MethodMatcher("java.math.BigDecimal setScale(int, int)");
+    private static final JavaType.FullyQualified ROUNDING_MODE = JavaType.ShallowClass.build("java.math.RoundingMode");
 
     @Getter
     final String displayName = "`BigDecimal` rounding constants to `RoundingMode` enums";
@@ -56,42 +58,47 @@ public class BigDecimalRoundingConstantsToEnums extends Recipe {
             @Override
             public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                 J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
-                if (BIG_DECIMAL_DIVIDE.matches(m) &&
-                    isConvertibleBigDecimalConstant(m.getArguments().get(1))) {
-                    String roundingModeEnum = getTemplateText(m.getArguments().get(1));
-                    if (roundingModeEnum == null) {
-                        return m;
-                    }
-                    m = JavaTemplate.builder("#{any(java.math.BigDecimal)}, #{}")
-                            .contextSensitive()
-                            .imports("java.math.RoundingMode")
-                            .build()
-                            .apply(updateCursor(m), m.getCoordinates().replaceArguments(), m.getArguments().get(0), roundingModeEnum);
-                    maybeAddImport("java.math.RoundingMode");
-                } else if (BIG_DECIMAL_SET_SCALE.matches(m) && isConvertibleBigDecimalConstant(m.getArguments().get(1))) {
-                    String roundingModeEnum = getTemplateText(m.getArguments().get(1));
-                    if (roundingModeEnum == null) {
-                        return m;
-                    }
-                    m = JavaTemplate.builder("#{any(int)}, #{}")
-                            .contextSensitive()
-                            .imports("java.math.RoundingMode")
-                            .build()
-                            .apply(updateCursor(m), m.getCoordinates().replaceArguments(), m.getArguments().get(0), roundingModeEnum);
-                    maybeAddImport("java.math.RoundingMode");
-                } else if (BIG_DECIMAL_DIVIDE_WITH_SCALE.matches(m) &&
-                           isConvertibleBigDecimalConstant(m.getArguments().get(2))) {
-                    String roundingModeEnum = getTemplateText(m.getArguments().get(2));
-                    if (roundingModeEnum == null) {
-                        return m;
+                if (BIG_DECIMAL_DIVIDE.matches(m) || BIG_DECIMAL_SET_SCALE.matches(m)) {
+                    return replaceRoundingConstant(m, 1);
+                } else if (BIG_DECIMAL_DIVIDE_WITH_SCALE.matches(m)) {
+                    return replaceRoundingConstant(m, 2);
+                }
+                return m;
+            }
+
+            private J.MethodInvocation replaceRoundingConstant(J.MethodInvocation m, int index) {
+                Expression constant = m.getArguments().get(index);
+                String roundingMode = isConvertibleBigDecimalConstant(constant) ? getRoundingMode(constant) : null;
+                if (roundingMode == null) {
+                    return m;
+                }
+
+                // The RoundingMode overload of the same method, whose parameter has the full enum type
+                JavaType.Method methodType = m.getMethodType();
+                JavaType.Method overload = null;
+                if (methodType != null) {
+                    for (JavaType.Method candidate : methodType.getDeclaringType().getMethods()) {
+                        if (candidate.getName().equals(methodType.getName()) &&
+                            candidate.getParameterTypes().size() == methodType.getParameterTypes().size() &&
+                            TypeUtils.isOfClassType(candidate.getParameterTypes().get(index), "java.math.RoundingMode")) {
+                            overload = candidate;
+                            break;
+                        }
                     }
-                    m = JavaTemplate.builder("#{any(java.math.BigDecimal)}, #{any(int)}, #{}")
-                            .contextSensitive()
-                            .imports("java.math.RoundingMode")
-                            .build()
-                            .apply(updateCursor(m), m.getCoordinates().replaceArguments(), m.getArguments().get(0), m.getArguments().get(1), roundingModeEnum);
-                    maybeAddImport("java.math.RoundingMode");
                 }
+                JavaType.FullyQualified roundingModeType = overload == null ? ROUNDING_MODE :
+                        TypeUtils.asFullyQualified(overload.getParameterTypes().get(index));
+                if (roundingModeType == null) {
+                    roundingModeType = ROUNDING_MODE;
+                }
+
+                J.FieldAccess replacement = JavaElementFactory.newStaticFieldAccess(roundingModeType, roundingMode, roundingModeType)
+                        .withPrefix(constant.getPrefix());
+                m = m.withArguments(ListUtils.map(m.getArguments(), (i, arg) -> i == index ? replacement : arg));
+                if (overload != null) {
+                    m = m.withMethodType(overload).withName(m.getName().withType(overload));
+                }
+                maybeAddImport("java.math.RoundingMode");
                 return m;
             }
 
@@ -106,7 +113,7 @@ public class BigDecimalRoundingConstantsToEnums extends Recipe {
                 return false;
             }
 
-            private @Nullable String getTemplateText(J elem) {
+            private @Nullable String getRoundingMode(J elem) {
                 String roundingName = null;
                 if (elem instanceof J.FieldAccess && ((J.FieldAccess) elem).getTarget().getType() instanceof JavaType.FullyQualified) {
                     J.FieldAccess fa = (J.FieldAccess) elem;
@@ -120,28 +127,28 @@ public class BigDecimalRoundingConstantsToEnums extends Recipe {
                     switch (roundingName) {
                         case "ROUND_UP":
                         case "0":
-                            return "RoundingMode.UP";
+                            return "UP";
                         case "ROUND_DOWN":
                         case "1":
-                            return "RoundingMode.DOWN";
+                            return "DOWN";
                         case "ROUND_CEILING":
                         case "2":
-                            return "RoundingMode.CEILING";
+                            return "CEILING";
                         case "ROUND_FLOOR":
                         case "3":
-                            return "RoundingMode.FLOOR";
+                            return "FLOOR";
                         case "ROUND_HALF_UP":
                         case "4":
-                            return "RoundingMode.HALF_UP";
+                            return "HALF_UP";
                         case "ROUND_HALF_DOWN":
                         case "5":
-                            return "RoundingMode.HALF_DOWN";
+                            return "HALF_DOWN";
                         case "ROUND_HALF_EVEN":
                         case "6":
-                            return "RoundingMode.HALF_EVEN";
+                            return "HALF_EVEN";
                         case "ROUND_UNNECESSARY":
                         case "7":
-                            return "RoundingMode.UNNECESSARY";
+                            return "UNNECESSARY";
                     }
                 }
                 return null;
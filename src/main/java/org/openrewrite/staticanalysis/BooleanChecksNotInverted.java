@@ -19,7 +19,6 @@ import lombok.Getter;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.tree.J;
 
 import java.time.Duration;
@@ -46,7 +45,7 @@ public class BooleanChecksNotInverted extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaVisitor<ExecutionContext>() {
+        return new FusibleJavaVisitor() {
 
             @Override
             @SuppressWarnings("ConstantConditions")
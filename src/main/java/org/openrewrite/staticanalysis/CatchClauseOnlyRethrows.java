@@ -20,7 +20,6 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
-import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
@@ -47,7 +46,7 @@ public class CatchClauseOnlyRethrows extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaIsoVisitor<ExecutionContext>() {
+        return new FusibleJavaIsoVisitor() {
             @Override
             public J.Block visitBlock(J.Block block, ExecutionContext ctx) {
                 J.Block b = super.visitBlock(block, ctx);
@@ -56,7 +55,7 @@ public class CatchClauseOnlyRethrows extends Recipe {
                         // if a try has no catches, no finally, and no resources get rid of it and merge its statements into the current block
                         J.Try aTry = (J.Try) statement;
                         if (aTry.getCatches().isEmpty() && aTry.getResources() == null && aTry.getFinally() == null) {
-                            return ListUtils.map(aTry.getBody().getStatements(), tryStat -> autoFormat(tryStat, ctx, getCursor()));
+                            return ListUtils.map(aTry.getBody().getStatements(), tryStat -> PrefixFormat.moveBefore(tryStat, aTry));
                         }
                     }
                     return statement;
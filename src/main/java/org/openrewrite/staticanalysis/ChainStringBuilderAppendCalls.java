@@ -54,7 +54,15 @@ public class ChainStringBuilderAppendCalls extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesMethod<>(STRING_BUILDER_APPEND), Repeat.repeatUntilStable(new JavaIsoVisitor<ExecutionContext>() {
+        return Preconditions.check(new UsesMethod<>(STRING_BUILDER_APPEND), DirtyRegionWorklist.repeatUntilStable(new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+                if (DirtyRegionWorklist.isClean(getCursor())) {
+                    return method;
+                }
+                return super.visitMethodDeclaration(method, ctx);
+            }
+
             @Override
             public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                 J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
@@ -119,7 +127,7 @@ public class ChainStringBuilderAppendCalls extends Recipe {
 
                 return m;
             }
-        }));
+        }, J.MethodDeclaration.class));
     }
 
     /**
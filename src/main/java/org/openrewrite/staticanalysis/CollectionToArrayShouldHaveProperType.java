@@ -80,9 +80,7 @@ public class CollectionToArrayShouldHaveProperType extends Recipe {
                                         String className = fqType.getClassName();
                                         String fqn = fqType.getFullyQualifiedName();
                                         // Build the toArray call with the proper array argument
-                                        JavaTemplate template = JavaTemplate.builder("#{any()}.toArray(new #{}[0])")
-                                                .imports(fqn)
-                                                .build();
+                                        JavaTemplate template = TemplateCache.get("#{any()}.toArray(new #{}[0])", fqn);
 
                                         // Apply the template, replacing the entire parentheses expression
                                         Expression result = template.apply(getCursor(), visitedParentheses.getCoordinates().replace(),
@@ -131,9 +129,7 @@ public class CollectionToArrayShouldHaveProperType extends Recipe {
                                 String className = fqType.getClassName();
                                 String fqn = fqType.getFullyQualifiedName();
                                 // Build the toArray call with the proper array argument
-                                JavaTemplate template = JavaTemplate.builder("#{any()}.toArray(new #{}[0])")
-                                        .imports(fqn)
-                                        .build();
+                                JavaTemplate template = TemplateCache.get("#{any()}.toArray(new #{}[0])", fqn);
 
                                 // Apply the template, replacing the cast expression
                                 Expression result = template.apply(getCursor(), visitedTypeCast.getCoordinates().replace(),
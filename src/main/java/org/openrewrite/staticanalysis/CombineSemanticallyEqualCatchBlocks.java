@@ -28,6 +28,7 @@ import org.openrewrite.marker.Markers;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Collections.*;
 import static org.openrewrite.java.tree.Space.EMPTY;
@@ -60,10 +61,20 @@ public class CombineSemanticallyEqualCatchBlocks extends Recipe {
             J.Try t = (J.Try) super.visitTry(tryable, ctx);
             Map<J.Try.Catch, List<J.Try.Catch>> semanticallyEqualCatchesMap = new LinkedHashMap<>();
             List<J.Try.Catch> catches = t.getCatches();
+            // Bucket the catches by a structural hash of their bodies, so that only catches in the same bucket are compared.
+            int[] hashes = new int[catches.size()];
+            Map<Integer, List<Integer>> buckets = new HashMap<>();
+            for (int i = 0; i < catches.size(); i++) {
+                hashes[i] = structuralHash(catches.get(i).getBody());
+                buckets.computeIfAbsent(hashes[i], k -> new ArrayList<>()).add(i);
+            }
             // Check if the try contains semantically equal catch blocks.
             for (int i = 0; i < catches.size(); i++) {
                 J.Try.Catch from = catches.get(i);
-                for (int j = i + 1; j < catches.size(); j++) {
+                for (int j : buckets.get(hashes[i])) {
+                    if (j <= i) {
+                        continue;
+                    }
                     J.Try.Catch to = catches.get(j);
                     if (SemanticallyEqual.areEqual(from.getBody(), to.getBody()) &&
                             containSameComments(from.getBody(), to.getBody())) {
@@ -76,6 +87,8 @@ public class CombineSemanticallyEqualCatchBlocks extends Recipe {
             if (!semanticallyEqualCatchesMap.isEmpty()) {
                 // Collect the identifiers of caught exceptions that are subtypes or implementations of an exception that is caught later in a different catch.
                 Map<J.Try.Catch, Map<J.Try.Catch, Set<NameTree>>> parentChildClassRelationship = new HashMap<>();
+                // The same exception types are often caught repeatedly, so assignability is only computed once per pair of types.
+                Map<JavaType, Map<JavaType, Boolean>> assignable = new HashMap<>();
                 for (int i = 0; i < catches.size(); i++) {
                     J.Try.Catch from = catches.get(i);
                     for (int j = i + 1; j < catches.size(); j++) {
@@ -85,7 +98,9 @@ public class CombineSemanticallyEqualCatchBlocks extends Recipe {
                             for (NameTree toException : getCaughtExceptions(to)) {
                                 JavaType fromType = TypeUtils.asFullyQualified(fromException.getType());
                                 JavaType toType = TypeUtils.asFullyQualified(toException.getType());
-                                if (fromType != null && toType != null && TypeUtils.isAssignableTo(toType, fromType)) {
+                                if (fromType != null && toType != null && assignable
+                                        .computeIfAbsent(toType, k -> new HashMap<>())
+                                        .computeIfAbsent(fromType, k -> TypeUtils.isAssignableTo(toType, fromType))) {
                                     Map<J.Try.Catch, Set<NameTree>> subTypesMap = parentChildClassRelationship.computeIfAbsent(from, key -> new HashMap<>());
                                     Set<NameTree> childClassIdentifiers = subTypesMap.computeIfAbsent(to, key -> new HashSet<>());
                                     if (fromException instanceof J.Identifier || fromException instanceof J.FieldAccess) {
@@ -266,6 +281,81 @@ public class CombineSemanticallyEqualCatchBlocks extends Recipe {
             }
         }
 
+        /**
+         * A hash that is equal for catch bodies that may be semantically equal. It covers the kinds of the trees in
+         * the body, names, the declaring types of methods, constructors and fields, literal values and operators, so
+         * that bodies of the same shape but different content rarely share a bucket.
+         */
+        private static int structuralHash(J.Block body) {
+            return new JavaIsoVisitor<AtomicInteger>() {
+                @Override
+                public J preVisit(J tree, AtomicInteger hash) {
+                    // Redundant parentheses don't make bodies semantically different
+                    if (!(tree instanceof J.Parentheses)) {
+                        mix(hash, tree.getClass().hashCode());
+                    }
+                    return tree;
+                }
+
+                @Override
+                public J.Identifier visitIdentifier(J.Identifier identifier, AtomicInteger hash) {
+                    mix(hash, identifier.getSimpleName().hashCode());
+                    JavaType.Variable fieldType = identifier.getFieldType();
+                    if (fieldType != null && fieldType.getOwner() instanceof JavaType.FullyQualified) {
+                        mix(hash, ((JavaType.FullyQualified) fieldType.getOwner()).getFullyQualifiedName().hashCode());
+                    }
+                    return super.visitIdentifier(identifier, hash);
+                }
+
+                @Override
+                public J.Literal visitLiteral(J.Literal literal, AtomicInteger hash) {
+                    mix(hash, Objects.hashCode(literal.getValue()));
+                    return super.visitLiteral(literal, hash);
+                }
+
+                @Override
+                public J.Binary visitBinary(J.Binary binary, AtomicInteger hash) {
+                    mix(hash, binary.getOperator().ordinal());
+                    return super.visitBinary(binary, hash);
+                }
+
+                @Override
+                public J.Unary visitUnary(J.Unary unary, AtomicInteger hash) {
+                    mix(hash, unary.getOperator().ordinal());
+                    return super.visitUnary(unary, hash);
+                }
+
+                @Override
+                public J.AssignmentOperation visitAssignmentOperation(J.AssignmentOperation assignOp, AtomicInteger hash) {
+                    mix(hash, assignOp.getOperator().ordinal());
+                    return super.visitAssignmentOperation(assignOp, hash);
+                }
+
+                @Override
+                public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, AtomicInteger hash) {
+                    mixMethod(hash, method.getMethodType());
+                    return super.visitMethodInvocation(method, hash);
+                }
+
+                @Override
+                public J.NewClass visitNewClass(J.NewClass newClass, AtomicInteger hash) {
+                    mixMethod(hash, newClass.getConstructorType());
+                    return super.visitNewClass(newClass, hash);
+                }
+
+                private void mixMethod(AtomicInteger hash, JavaType.@Nullable Method methodType) {
+                    if (methodType != null) {
+                        mix(hash, methodType.getDeclaringType().getFullyQualifiedName().hashCode());
+                        mix(hash, methodType.getName().hashCode());
+                    }
+                }
+
+                private void mix(AtomicInteger hash, int value) {
+                    hash.set(31 * hash.get() + value);
+                }
+            }.reduce(body, new AtomicInteger(body.getStatements().size())).get();
+        }
+
         private static boolean containSameComments(J.Block body1, J.Block body2) {
             CommentVisitor commentVisitor = new CommentVisitor();
             commentVisitor.visit(body1, body2);
@@ -17,7 +17,6 @@ package org.openrewrite.staticanalysis;
 
 import lombok.Getter;
 import org.openrewrite.*;
-import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
@@ -65,8 +64,7 @@ public class CompareEnumsWithEqualityOperator extends Recipe {
                     }
 
                     String code = "#{any()} " + (isNot ? "!=" : "==") + " #{any()}";
-                    return JavaTemplate.apply(
-                            needsParentheses ? "(" + code + ")" : code,
+                    return TemplateCache.get(needsParentheses ? "(" + code + ")" : code).apply(
                             updateCursor(m),
                             m.getCoordinates().replace(),
                             m.getSelect(),
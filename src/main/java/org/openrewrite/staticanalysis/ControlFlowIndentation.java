@@ -32,7 +32,6 @@ import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.Loop;
 import org.openrewrite.java.tree.Statement;
-import org.openrewrite.style.Style;
 
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -70,9 +69,9 @@ public class ControlFlowIndentation extends Recipe {
             public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
                 if (tree instanceof JavaSourceFile) {
                     JavaSourceFile cu = (JavaSourceFile) requireNonNull(tree);
-                    tabsAndIndentsStyle = Style.from(TabsAndIndentsStyle.class, cu, IntelliJ::tabsAndIndents);
-                    spacesStyle = Style.from(SpacesStyle.class, cu, IntelliJ::spaces);
-                    wrappingStyle = Style.from(WrappingAndBracesStyle.class, cu, IntelliJ::wrappingAndBraces);
+                    tabsAndIndentsStyle = ResolvedStyles.from(TabsAndIndentsStyle.class, cu, IntelliJ::tabsAndIndents, ctx);
+                    spacesStyle = ResolvedStyles.from(SpacesStyle.class, cu, IntelliJ::spaces, ctx);
+                    wrappingStyle = ResolvedStyles.from(WrappingAndBracesStyle.class, cu, IntelliJ::wrappingAndBraces, ctx);
                 }
                 return super.visit(tree, ctx);
             }
@@ -16,21 +16,27 @@
 package org.openrewrite.staticanalysis;
 
 import lombok.Getter;
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
+import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.AnnotationMatcher;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.DeclaresMethod;
 import org.openrewrite.java.service.AnnotationService;
-import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
 import org.openrewrite.staticanalysis.csharp.CSharpFileChecker;
 
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.openrewrite.Tree.randomId;
 
 @Incubating(since = "7.0.0")
 public class CovariantEquals extends Recipe {
@@ -38,6 +44,16 @@ public class CovariantEquals extends Recipe {
     private static final MethodMatcher EQUALS_MATCHER = new MethodMatcher("* equals(..)");
     private static final MethodMatcher EQUALS_OBJECT_MATCHER = new MethodMatcher("* equals(java.lang.Object)");
     private static final AnnotationMatcher OVERRIDE_ANNOTATION = new AnnotationMatcher("@java.lang.Override");
+    private static final JavaType.Method GET_CLASS = new JavaType.Method(
+            null,
+            Flag.Public.getBitMask() | Flag.Final.getBitMask(),
+            TypeUtils.asFullyQualified(JavaType.buildType("java.lang.Object")),
+            "getClass",
+            JavaType.buildType("java.lang.Class"),
+            emptyList(),
+            emptyList(),
+            null, null, null, null
+    );
 
     @Getter
     final String displayName = "Covariant equals";
@@ -61,9 +77,12 @@ public class CovariantEquals extends Recipe {
                 Preconditions.not(new DeclaresMethod<>(EQUALS_OBJECT_MATCHER)),
                 Preconditions.not(new CSharpFileChecker<>())
         );
-        return Preconditions.check(conditions, Repeat.repeatUntilStable(new JavaIsoVisitor<ExecutionContext>() {
+        return Preconditions.check(conditions, DirtyRegionWorklist.repeatUntilStable(new JavaIsoVisitor<ExecutionContext>() {
             @Override
             public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+                if (DirtyRegionWorklist.isClean(getCursor())) {
+                    return method;
+                }
                 J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
 
                 Cursor parent;
@@ -90,7 +109,7 @@ public class CovariantEquals extends Recipe {
                         new MethodMatcher(ecfqn + " equals(" + ecfqn + ")").matches(m, enclosingClass)) {
 
                     if (!service(AnnotationService.class).matches(getCursor(), OVERRIDE_ANNOTATION)) {
-                        m = JavaTemplate.apply("@Override", updateCursor(m), m.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)));
+                        m = JavaElementFactory.addAnnotation(m, JavaElementFactory.newAnnotation("java.lang.Override", false, ctx));
                     }
 
                     /*
@@ -107,29 +126,95 @@ public class CovariantEquals extends Recipe {
                      * equals(..) method body statements, and let the existing equals(..) method definition continue
                      * with the logic doing what it was doing.
                      */
-                    String equalsBodyPrefixTemplate = "if (#{} == this) return true;\n" +
-                            "if (#{} == null || getClass() != #{}.getClass()) return false;\n" +
-                            "#{} #{} = (#{}) #{};\n";
-                    JavaTemplate equalsBodySnippet = JavaTemplate.builder(equalsBodyPrefixTemplate).contextSensitive().build();
-
                     assert m.getBody() != null;
-                    Object[] params = new Object[]{
-                            paramName,
-                            paramName,
-                            paramName,
-                            enclosingClass.getSimpleName(),
-                            oldParamName.getSimpleName(),
-                            enclosingClass.getSimpleName(),
-                            paramName
-                    };
-
-                    m = equalsBodySnippet.apply(new Cursor(getCursor().getParent(), m),
-                            m.getBody().getStatements().get(0).getCoordinates().before(),
-                            params);
+                    List<Statement> statements = m.getBody().getStatements();
+                    Space prefix = Space.format("\n" + statements.get(0).getPrefix().getIndent());
+                    J.VariableDeclarations.NamedVariable param = ((J.VariableDeclarations) m.getParameters().get(0)).getVariables().get(0);
+                    m = m.withBody(m.getBody().withStatements(ListUtils.concatAll(
+                            typeCheckAndCast(m, param, type, enclosingClass.getSimpleName(), oldParamName.getSimpleName(), prefix),
+                            statements)));
                 }
 
                 return m;
             }
-        }));
+        }, J.MethodDeclaration.class));
+    }
+
+    /**
+     * The statements {@code if (obj == this) return true;}, {@code if (obj == null || getClass() != obj.getClass()) return false;}
+     * and {@code Test tee = (Test) obj;}. A template for them would have to be compiled in the context of the
+     * enclosing class to attribute the cast, so they are built directly instead.
+     */
+    private static List<Statement> typeCheckAndCast(J.MethodDeclaration equals, J.VariableDeclarations.NamedVariable param,
+                                                    JavaType.FullyQualified type, String simpleName, String castName, Space prefix) {
+        J.If identity = returnIf(prefix, JavaElementFactory.newLogicalExpression(J.Binary.Type.Equal,
+                reference(param, Space.EMPTY),
+                JavaElementFactory.newThis(type).withPrefix(Space.SINGLE_SPACE)), true);
+
+        J.If sameClass = returnIf(prefix, JavaElementFactory.newLogicalExpression(J.Binary.Type.Or,
+                JavaElementFactory.newLogicalExpression(J.Binary.Type.Equal,
+                        reference(param, Space.EMPTY),
+                        new J.Literal(randomId(), Space.SINGLE_SPACE, Markers.EMPTY, null, "null", null, JavaType.Primitive.Null)),
+                JavaElementFactory.newLogicalExpression(J.Binary.Type.NotEqual,
+                        getClass(null, Space.EMPTY),
+                        getClass(reference(param, Space.EMPTY), Space.SINGLE_SPACE)).withPrefix(Space.SINGLE_SPACE)), false);
+
+        JavaType.Variable castType = new JavaType.Variable(null, 0, castName, equals.getMethodType(), type, emptyList());
+        J.VariableDeclarations cast = new J.VariableDeclarations(
+                randomId(),
+                prefix,
+                Markers.EMPTY,
+                emptyList(),
+                emptyList(),
+                new J.Identifier(randomId(), Space.EMPTY, Markers.EMPTY, emptyList(), simpleName, type, null),
+                null,
+                emptyList(),
+                singletonList(JRightPadded.build(new J.VariableDeclarations.NamedVariable(
+                        randomId(),
+                        Space.SINGLE_SPACE,
+                        Markers.EMPTY,
+                        new J.Identifier(randomId(), Space.EMPTY, Markers.EMPTY, emptyList(), castName, type, castType),
+                        emptyList(),
+                        new JLeftPadded<>(Space.SINGLE_SPACE, new J.TypeCast(
+                                randomId(),
+                                Space.SINGLE_SPACE,
+                                Markers.EMPTY,
+                                new J.ControlParentheses<>(randomId(), Space.EMPTY, Markers.EMPTY,
+                                        JRightPadded.build(new J.Identifier(randomId(), Space.EMPTY, Markers.EMPTY, emptyList(), simpleName, type, null))),
+                                reference(param, Space.SINGLE_SPACE)
+                        ), Markers.EMPTY),
+                        castType
+                )))
+        );
+        return Arrays.asList(identity, sameClass, cast);
+    }
+
+    private static J.If returnIf(Space prefix, Expression condition, boolean value) {
+        return new J.If(
+                randomId(),
+                prefix,
+                Markers.EMPTY,
+                new J.ControlParentheses<>(randomId(), Space.SINGLE_SPACE, Markers.EMPTY, JRightPadded.build(condition)),
+                JRightPadded.build(new J.Return(randomId(), Space.SINGLE_SPACE, Markers.EMPTY,
+                        new J.Literal(randomId(), Space.SINGLE_SPACE, Markers.EMPTY, value, String.valueOf(value), null, JavaType.Primitive.Boolean))),
+                null
+        );
+    }
+
+    private static J.Identifier reference(J.VariableDeclarations.NamedVariable variable, Space prefix) {
+        return new J.Identifier(randomId(), prefix, Markers.EMPTY, emptyList(), variable.getSimpleName(), variable.getType(), variable.getVariableType());
+    }
+
+    private static J.MethodInvocation getClass(@Nullable Expression select, Space prefix) {
+        return new J.MethodInvocation(
+                randomId(),
+                prefix,
+                Markers.EMPTY,
+                select == null ? null : JRightPadded.build(select),
+                null,
+                new J.Identifier(randomId(), Space.EMPTY, Markers.EMPTY, emptyList(), "getClass", GET_CLASS, null),
+                JContainer.build(singletonList(JRightPadded.build(new J.Empty(randomId(), Space.EMPTY, Markers.EMPTY)))),
+                GET_CLASS
+        );
     }
 }
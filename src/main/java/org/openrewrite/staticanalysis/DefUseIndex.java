@@ -0,0 +1,254 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Statement;
+
+import java.util.*;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * The read and write sites of every variable in a method, lambda or class body, collected with a single traversal.
+ * <p>
+ * Sites are keyed by the {@link JavaType.Variable} of the referencing identifier and, as a fallback, by its simple
+ * name. Typed lookups that find nothing fall back on the name-keyed sites, so the answers are never less
+ * conservative than those of {@link VariableReferences}, which rescans the scope for every variable.
+ */
+final class DefUseIndex {
+    private static final String CURSOR_KEY = "DEF_USE_INDEX";
+
+    private final Map<JavaType.Variable, List<Site<J>>> typedReads = new HashMap<>();
+    private final Map<String, List<Site<J>>> namedReads = new HashMap<>();
+    private final Map<JavaType.Variable, List<Site<Statement>>> typedWrites = new HashMap<>();
+    private final Map<String, List<Site<Statement>>> namedWrites = new HashMap<>();
+    private final Map<Statement, J> writeParents = new IdentityHashMap<>();
+
+    private DefUseIndex() {
+    }
+
+    /**
+     * Find the index for the nearest enclosing method, lambda or class body, building it on first use and caching
+     * it as a message on that cursor for the remainder of the traversal.
+     *
+     * @param cursor The cursor of the tree being visited.
+     * @return The index covering the tree at the cursor.
+     */
+    static DefUseIndex of(Cursor cursor) {
+        Cursor root = cursor;
+        for (Cursor c = cursor.getParent(); c != null; c = c.getParent()) {
+            Object value = c.getValue();
+            if (value instanceof J) {
+                root = c;
+                if (value instanceof J.MethodDeclaration ||
+                    value instanceof J.Lambda ||
+                    value instanceof J.ClassDeclaration ||
+                    value instanceof J.NewClass ||
+                    value instanceof JavaSourceFile) {
+                    break;
+                }
+            }
+        }
+        Cursor indexed = root;
+        return indexed.computeMessageIfAbsent(CURSOR_KEY, k -> build(indexed.getValue()));
+    }
+
+    static DefUseIndex build(J j) {
+        DefUseIndex index = new DefUseIndex();
+        new Indexer(index).visit(j, 0);
+        return index;
+    }
+
+    /**
+     * @param target A {@link J.Identifier} to check for usages.
+     * @param within The subtree to restrict the search to, or {@code null} for the whole index.
+     * @return found {@link J} locations of "right-hand" read calls, as defined by {@link VariableReferences#findRhsReferences(J, J.Identifier)}.
+     */
+    List<J> findRhsReferences(J.Identifier target, @Nullable J within) {
+        return lookup(typedReads, namedReads, target, within);
+    }
+
+    /**
+     * @param target A {@link J.Identifier} to check for usages.
+     * @param within The subtree to restrict the search to, or {@code null} for the whole index.
+     * @return found {@link Statement} locations of "left-hand" assignment write calls.
+     */
+    List<Statement> findLhsReferences(J.Identifier target, @Nullable J within) {
+        return lookup(typedWrites, namedWrites, target, within);
+    }
+
+    /**
+     * @param target A {@link J.Identifier} to check for reassignments.
+     * @param within The subtree to restrict the search to, or {@code null} for the whole index.
+     * @return true if the variable is assigned, compound assigned, incremented or decremented within the subtree.
+     */
+    boolean isReassigned(J.Identifier target, @Nullable J within) {
+        // Same answer as checking findLhsReferences for emptiness, without collecting the writes
+        return target.getFieldType() != null && anyWithin(typedWrites.get(target.getFieldType()), within) ||
+                anyWithin(namedWrites.get(target.getSimpleName()), within);
+    }
+
+    /**
+     * @param write A write site returned by {@link #findLhsReferences(J.Identifier, J)}.
+     * @return the block holding the write as one of its statements, or {@code null} if the write is nested
+     * inside another statement or expression.
+     */
+    J.@Nullable Block findEnclosingBlock(Statement write) {
+        J parent = writeParents.get(write);
+        return parent instanceof J.Block ? (J.Block) parent : null;
+    }
+
+    private static <T extends J> List<T> lookup(Map<JavaType.Variable, List<Site<T>>> typed, Map<String, List<Site<T>>> named,
+                                                J.Identifier target, @Nullable J within) {
+        if (target.getFieldType() != null) {
+            List<T> found = filter(typed.get(target.getFieldType()), within);
+            if (!found.isEmpty()) {
+                return found;
+            }
+        }
+        return filter(named.get(target.getSimpleName()), within);
+    }
+
+    private static <T extends J> List<T> filter(@Nullable List<Site<T>> sites, @Nullable J within) {
+        if (sites == null) {
+            return emptyList();
+        }
+        List<T> found = new ArrayList<>(sites.size());
+        for (Site<T> site : sites) {
+            if (within == null || site.scope.contains(within)) {
+                found.add(site.tree);
+            }
+        }
+        return found;
+    }
+
+    private static boolean anyWithin(@Nullable List<? extends Site<?>> sites, @Nullable J within) {
+        if (sites != null) {
+            for (Site<?> site : sites) {
+                if (within == null || site.scope.contains(within)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static <T extends J> void add(Map<JavaType.Variable, List<Site<T>>> typed, Map<String, List<Site<T>>> named,
+                                          J.Identifier name, Site<T> site) {
+        named.computeIfAbsent(name.getSimpleName(), k -> new ArrayList<>()).add(site);
+        if (name.getFieldType() != null) {
+            typed.computeIfAbsent(name.getFieldType(), k -> new ArrayList<>()).add(site);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Site<T extends J> {
+        final T tree;
+        final Scope scope;
+    }
+
+    /**
+     * The chain of trees enclosing a site, shared between all sites with a common ancestor.
+     */
+    @RequiredArgsConstructor
+    private static class Scope {
+        final J tree;
+
+        @Nullable
+        final Scope parent;
+
+        boolean contains(J j) {
+            for (Scope s = this; s != null; s = s.parent) {
+                if (s.tree == j) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Indexer extends JavaIsoVisitor<Integer> {
+        private final DefUseIndex index;
+
+        @Nullable
+        private Scope scope;
+
+        @Override
+        public J preVisit(J tree, Integer p) {
+            scope = new Scope(tree, scope);
+            return tree;
+        }
+
+        @Override
+        public J postVisit(J tree, Integer p) {
+            scope = scope == null ? null : scope.parent;
+            return tree;
+        }
+
+        @Override
+        public J.Identifier visitIdentifier(J.Identifier identifier, Integer p) {
+            if (VariableReferences.isRhsValue(getCursor())) {
+                add(index.typedReads, index.namedReads, identifier, new Site<>(identifier, requireScope()));
+            }
+            return super.visitIdentifier(identifier, p);
+        }
+
+        @Override
+        public J.Assignment visitAssignment(J.Assignment assignment, Integer p) {
+            if (assignment.getVariable() instanceof J.Identifier) {
+                addWrite((J.Identifier) assignment.getVariable(), assignment);
+            }
+            return super.visitAssignment(assignment, p);
+        }
+
+        @Override
+        public J.AssignmentOperation visitAssignmentOperation(J.AssignmentOperation assignOp, Integer p) {
+            if (assignOp.getVariable() instanceof J.Identifier) {
+                addWrite((J.Identifier) assignOp.getVariable(), assignOp);
+            }
+            return super.visitAssignmentOperation(assignOp, p);
+        }
+
+        @Override
+        public J.Unary visitUnary(J.Unary unary, Integer p) {
+            // a non-modifying unary operand is always a read as well, so it never needs to be treated as a write
+            if (unary.getOperator().isModifying() && unary.getExpression() instanceof J.Identifier) {
+                addWrite((J.Identifier) unary.getExpression(), unary);
+            }
+            return super.visitUnary(unary, p);
+        }
+
+        private void addWrite(J.Identifier name, Statement write) {
+            Scope writeScope = requireScope();
+            add(index.typedWrites, index.namedWrites, name, new Site<>(write, writeScope));
+            if (writeScope.parent != null) {
+                index.writeParents.put(write, writeScope.parent.tree);
+            }
+        }
+
+        private Scope requireScope() {
+            return Objects.requireNonNull(scope);
+        }
+    }
+}
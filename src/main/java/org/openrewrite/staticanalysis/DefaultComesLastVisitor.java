@@ -28,7 +28,6 @@ import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.Space;
 import org.openrewrite.java.tree.Statement;
 import org.openrewrite.marker.Markers;
-import org.openrewrite.style.Style;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -51,7 +50,7 @@ public class DefaultComesLastVisitor<P> extends JavaIsoVisitor<P> {
             } else {
                 s = getCursor().firstEnclosing(SourceFile.class);
             }
-            style = Style.from(DefaultComesLastStyle.class, s, Checkstyle::defaultComesLast);
+            style = ResolvedStyles.from(DefaultComesLastStyle.class, s, Checkstyle::defaultComesLast, p);
         }
         return super.visit(tree, p);
     }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+import static java.util.Collections.emptySet;
+
+/**
+ * Repeats a visitor until it stops making changes, like {@link Repeat#repeatUntilStable(TreeVisitor, int)}, but keeps
+ * a worklist of the regions that changed in the previous cycle so that the others don't have to be visited again.
+ * <p>
+ * A region is the outermost tree of a given type, such as the top-level {@link J.ClassDeclaration}, so that whatever
+ * depends on a change, like the callers of a removed private method, is revisited together with it. Visitors call
+ * {@link #isClean(Cursor)} when they enter a region and return it as-is when it is clean. Everything outside the
+ * regions is visited in every cycle, so {@code doAfterVisit} keeps working on the whole source file.
+ */
+final class DirtyRegionWorklist {
+    private static final String CLEAN_REGIONS_KEY = "CLEAN_REGIONS";
+
+    private DirtyRegionWorklist() {
+    }
+
+    static TreeVisitor<?, ExecutionContext> repeatUntilStable(TreeVisitor<?, ExecutionContext> v, Class<? extends J> regionType) {
+        return repeatUntilStable(v, regionType, 3);
+    }
+
+    static TreeVisitor<?, ExecutionContext> repeatUntilStable(TreeVisitor<?, ExecutionContext> v, Class<? extends J> regionType, int maxCycles) {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return v.isAcceptable(sourceFile, ctx);
+            }
+
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree == null) {
+                    return null;
+                }
+
+                // The clean regions are kept on a cursor of their own, since the one of the caller is shared with
+                // other visitors, like the root cursor of a recipe run
+                Cursor cursor = new Cursor(getCursor(), Cursor.ROOT_VALUE);
+                Tree previous = tree;
+                Tree current = v.visit(previous, ctx, cursor);
+                int cycle = 1;
+                while (current != null && current != previous && cycle < maxCycles) {
+                    cursor.putMessage(CLEAN_REGIONS_KEY, findCleanRegions(previous, current, regionType));
+                    previous = current;
+                    current = v.visit(previous, ctx, cursor);
+                    cycle++;
+                }
+                return current;
+            }
+        };
+    }
+
+    /**
+     * @param cursor The cursor of a region the visitor is about to visit.
+     * @return true if the region did not change in the previous cycle, so visiting it again can't produce any
+     * further changes.
+     */
+    static boolean isClean(Cursor cursor) {
+        Set<UUID> clean = cursor.getNearestMessage(CLEAN_REGIONS_KEY);
+        Object value = cursor.getValue();
+        return clean != null && value instanceof J && clean.contains(((J) value).getId());
+    }
+
+    private static Set<UUID> findCleanRegions(Tree before, Tree after, Class<? extends J> regionType) {
+        // Regions of other languages may be visited through adapted visitors, so only Java sources get a worklist
+        if (!(before instanceof J.CompilationUnit) || !(after instanceof J.CompilationUnit)) {
+            return emptySet();
+        }
+        Set<J> unchanged = Collections.newSetFromMap(new IdentityHashMap<>());
+        forEachRegion((J) before, regionType, unchanged::add);
+        Set<UUID> clean = new HashSet<>();
+        forEachRegion((J) after, regionType, region -> {
+            if (unchanged.contains(region)) {
+                clean.add(region.getId());
+            }
+        });
+        return clean;
+    }
+
+    private static void forEachRegion(J j, Class<? extends J> regionType, Consumer<J> consumer) {
+        new JavaIsoVisitor<Integer>() {
+            @Override
+            public @Nullable J visit(@Nullable Tree tree, Integer p) {
+                if (regionType.isInstance(tree)) {
+                    consumer.accept((J) tree);
+                    return (J) tree;
+                }
+                return super.visit(tree, p);
+            }
+        }.visit(j, 0);
+    }
+}
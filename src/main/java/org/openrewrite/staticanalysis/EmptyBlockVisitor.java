@@ -33,7 +33,6 @@ import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.Space;
 import org.openrewrite.java.tree.Statement;
 import org.openrewrite.marker.Markers;
-import org.openrewrite.style.Style;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -51,7 +50,7 @@ public class EmptyBlockVisitor<P> extends JavaIsoVisitor<P> {
     public @Nullable J visit(@Nullable Tree tree, P p) {
         //noinspection ConstantValue
         if (emptyBlockStyle == null && tree instanceof SourceFile) {
-            emptyBlockStyle = Style.from(EmptyBlockStyle.class, (SourceFile)tree, Checkstyle::emptyBlock);
+            emptyBlockStyle = ResolvedStyles.from(EmptyBlockStyle.class, (SourceFile) tree, Checkstyle::emptyBlock, p);
         }
         return super.visit(tree, p);
     }
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.*;
+
+import java.util.*;
+
+/**
+ * The exceptions that the methods of a repository can actually throw, for the methods whose checked exceptions
+ * {@link UnnecessaryThrows} removes when they are not thrown: private, static and final methods, and methods of
+ * final classes. A caller of such a method only has to handle what is left of its {@code throws} clause, even when
+ * the method is declared in another source file.
+ * <p>
+ * Exception types are interned by fully qualified name, so that the exceptions of a method are a {@link BitSet}
+ * and propagating them along calls is a set union.
+ */
+final class ExceptionSummaries {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<JavaType.FullyQualified> types = new ArrayList<>();
+    private final Map<String, Summary> summaries = new HashMap<>();
+    private boolean solved;
+
+    private static class Summary {
+        final List<JavaType> declared;
+
+        /**
+         * The checked exceptions that are removed from the {@code throws} clause when they are not thrown.
+         */
+        final BitSet candidates = new BitSet();
+
+        /**
+         * Declared exceptions that are never removed, like unchecked ones.
+         */
+        final BitSet retained = new BitSet();
+
+        final List<JavaType> thrown = new ArrayList<>();
+        final List<JavaType.Method> calls = new ArrayList<>();
+        final BitSet thrownIds = new BitSet();
+        boolean throwsTypeVariable;
+
+        /**
+         * The interned types that an exception thrown directly by the method is assignable to.
+         */
+        BitSet thrownCover = new BitSet();
+
+        /**
+         * The declared exceptions that are left once unused candidates are removed.
+         */
+        BitSet escaping = new BitSet();
+
+        Summary(List<JavaType> declared) {
+            this.declared = declared;
+        }
+    }
+
+    /**
+     * Summarizes a method whose checked exceptions are all candidates for removal.
+     */
+    void add(J.MethodDeclaration method) {
+        JavaType.Method methodType = method.getMethodType();
+        String key = key(methodType);
+        if (solved || key == null || method.getBody() == null) {
+            return;
+        }
+        Summary summary = new Summary(methodType.getThrownExceptions());
+        for (JavaType exception : summary.declared) {
+            JavaType.FullyQualified type = TypeUtils.asFullyQualified(exception);
+            if (type == null) {
+                return;
+            }
+            if (TypeUtils.isAssignableTo("java.lang.RuntimeException", type)) {
+                summary.retained.set(intern(type));
+            } else {
+                summary.candidates.set(intern(type));
+            }
+        }
+
+        new JavaIsoVisitor<Summary>() {
+            @Override
+            public J.Throw visitThrow(J.Throw thrown, Summary s) {
+                if (thrown.getException().getType() != null) {
+                    s.thrown.add(thrown.getException().getType());
+                }
+                return super.visitThrow(thrown, s);
+            }
+
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Summary s) {
+                if (method.getMethodType() != null) {
+                    s.calls.add(method.getMethodType());
+                }
+                return super.visitMethodInvocation(method, s);
+            }
+
+            @Override
+            public J.NewClass visitNewClass(J.NewClass newClass, Summary s) {
+                if (newClass.getConstructorType() != null) {
+                    s.calls.add(newClass.getConstructorType());
+                }
+                return super.visitNewClass(newClass, s);
+            }
+
+            @Override
+            public J.Try.Resource visitTryResource(J.Try.Resource tryResource, Summary s) {
+                JavaType.FullyQualified resourceType = TypeUtils.asFullyQualified(tryResource.getVariableDeclarations().getType());
+                if (resourceType != null) {
+                    for (JavaType.Method method : resourceType.getMethods()) {
+                        if ("close".equals(method.getName()) && method.getParameterTypes().isEmpty()) {
+                            s.calls.add(method);
+                            break;
+                        }
+                    }
+                }
+                return super.visitTryResource(tryResource, s);
+            }
+        }.visit(method.getBody(), summary);
+        summaries.put(key, summary);
+    }
+
+    boolean isSummarized(JavaType.@Nullable Method methodType) {
+        String key = key(methodType);
+        return key != null && summaries.containsKey(key);
+    }
+
+    /**
+     * @return the exceptions that a call to the method may throw, which for a summarized method are those
+     * left in its {@code throws} clause once its unused checked exceptions are removed.
+     */
+    List<JavaType> getThrownExceptions(JavaType.Method methodType) {
+        solve();
+        String key = key(methodType);
+        Summary summary = key == null ? null : summaries.get(key);
+        if (summary == null) {
+            return methodType.getThrownExceptions();
+        }
+        return ListUtils.map(methodType.getThrownExceptions(), exception -> {
+            JavaType.FullyQualified type = TypeUtils.asFullyQualified(exception);
+            Integer id = type == null ? null : ids.get(type.getFullyQualifiedName());
+            return id == null || summary.escaping.get(id) ? exception : null;
+        });
+    }
+
+    /**
+     * @return the method type without the exceptions it can't throw, or null when it may throw all of them.
+     */
+    JavaType.@Nullable Method withoutUnthrownExceptions(JavaType.@Nullable Method methodType) {
+        if (methodType == null) {
+            return null;
+        }
+        List<JavaType> thrown = getThrownExceptions(methodType);
+        return thrown == methodType.getThrownExceptions() ? null : methodType.withThrownExceptions(thrown);
+    }
+
+    private void solve() {
+        if (solved) {
+            return;
+        }
+        solved = true;
+
+        // Intern everything that may be thrown before computing which interned types each of them is assignable to
+        Map<Summary, List<Summary>> callers = new IdentityHashMap<>();
+        for (Summary summary : summaries.values()) {
+            for (JavaType thrown : summary.thrown) {
+                internThrown(summary, thrown);
+            }
+            for (JavaType.Method call : summary.calls) {
+                String key = key(call);
+                Summary callee = key == null ? null : summaries.get(key);
+                if (callee == null) {
+                    for (JavaType thrown : call.getThrownExceptions()) {
+                        internThrown(summary, thrown);
+                    }
+                } else if (callee != summary) {
+                    callers.computeIfAbsent(callee, k -> new ArrayList<>()).add(summary);
+                }
+            }
+        }
+        List<BitSet> supertypes = new ArrayList<>(types.size());
+        for (JavaType.FullyQualified type : types) {
+            BitSet bits = new BitSet();
+            for (JavaType.FullyQualified t = type; t != null; t = t.getSupertype()) {
+                Integer id = ids.get(t.getFullyQualifiedName());
+                if (id != null) {
+                    bits.set(id);
+                }
+            }
+            supertypes.add(bits);
+        }
+
+        Deque<Summary> worklist = new ArrayDeque<>();
+        for (Summary summary : summaries.values()) {
+            BitSet cover = new BitSet();
+            for (int id = summary.thrownIds.nextSetBit(0); id >= 0; id = summary.thrownIds.nextSetBit(id + 1)) {
+                cover.or(supertypes.get(id));
+            }
+            summary.thrownCover = cover;
+            summary.escaping = escaping(summary, cover);
+            worklist.add(summary);
+        }
+
+        // Calls between summarized methods can only add exceptions, so this stops once nothing changes
+        while (!worklist.isEmpty()) {
+            Summary summary = worklist.poll();
+            BitSet cover = (BitSet) summary.thrownCover.clone();
+            for (JavaType.Method call : summary.calls) {
+                String key = key(call);
+                Summary callee = key == null ? null : summaries.get(key);
+                if (callee != null && callee != summary) {
+                    for (int id = callee.escaping.nextSetBit(0); id >= 0; id = callee.escaping.nextSetBit(id + 1)) {
+                        cover.or(supertypes.get(id));
+                    }
+                }
+            }
+            BitSet escaping = escaping(summary, cover);
+            if (!escaping.equals(summary.escaping)) {
+                summary.escaping = escaping;
+                worklist.addAll(callers.getOrDefault(summary, Collections.emptyList()));
+            }
+        }
+    }
+
+    private void internThrown(Summary summary, JavaType thrown) {
+        JavaType.FullyQualified type = TypeUtils.asFullyQualified(thrown);
+        if (type == null) {
+            summary.throwsTypeVariable = true;
+        } else {
+            summary.thrownIds.set(intern(type));
+        }
+    }
+
+    /**
+     * @param cover The interned types that some exception the method may throw is assignable to.
+     */
+    private static BitSet escaping(Summary summary, BitSet cover) {
+        BitSet escaping = (BitSet) summary.candidates.clone();
+        if (!summary.throwsTypeVariable) {
+            escaping.and(cover);
+        }
+        escaping.or(summary.retained);
+        return escaping;
+    }
+
+    private int intern(JavaType.FullyQualified type) {
+        return ids.computeIfAbsent(type.getFullyQualifiedName(), fqn -> {
+            types.add(type);
+            return types.size() - 1;
+        });
+    }
+
+    private static @Nullable String key(JavaType.@Nullable Method methodType) {
+        if (methodType == null || methodType.getDeclaringType() == null) {
+            return null;
+        }
+        StringJoiner key = new StringJoiner(",", methodType.getDeclaringType().getFullyQualifiedName() + "#" + methodType.getName() + "(", ")");
+        for (JavaType parameterType : methodType.getParameterTypes()) {
+            key.add(parameterType.toString());
+        }
+        return key.toString();
+    }
+}
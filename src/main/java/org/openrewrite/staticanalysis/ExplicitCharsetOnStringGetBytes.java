@@ -20,19 +20,23 @@ import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
 
 import java.util.Set;
 
 import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
 
 @EqualsAndHashCode(callSuper = false)
 @Value
 public class ExplicitCharsetOnStringGetBytes extends Recipe {
     private static final MethodMatcher GET_BYTES = new MethodMatcher("java.lang.String getBytes()");
+    private static final JavaType.FullyQualified STANDARD_CHARSETS = JavaType.ShallowClass.build("java.nio.charset.StandardCharsets");
+    private static final JavaType.FullyQualified CHARSET = JavaType.ShallowClass.build("java.nio.charset.Charset");
 
     @Option(displayName = "Default encoding",
             description = "The default encoding to supply to the `getBytes` call",
@@ -59,11 +63,24 @@ public class ExplicitCharsetOnStringGetBytes extends Recipe {
                 J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
                 if (GET_BYTES.matches(method)) {
                     maybeAddImport("java.nio.charset.StandardCharsets");
-                    m = JavaTemplate.builder("getBytes(StandardCharsets.#{})")
-                            .contextSensitive()
-                            .imports("java.nio.charset.StandardCharsets")
-                            .build()
-                            .apply(updateCursor(m), m.getCoordinates().replaceMethod(), encoding == null ? "UTF_8" : encoding);
+
+                    // The getBytes(Charset) overload, whose parameter has the full Charset type
+                    JavaType.Method overload = null;
+                    if (m.getMethodType() != null) {
+                        for (JavaType.Method candidate : m.getMethodType().getDeclaringType().getMethods()) {
+                            if ("getBytes".equals(candidate.getName()) && candidate.getParameterTypes().size() == 1 &&
+                                TypeUtils.isOfClassType(candidate.getParameterTypes().get(0), "java.nio.charset.Charset")) {
+                                overload = candidate;
+                                break;
+                            }
+                        }
+                    }
+                    JavaType charsetType = overload == null ? CHARSET : overload.getParameterTypes().get(0);
+                    m = m.withArguments(singletonList(JavaElementFactory.newStaticFieldAccess(
+                            STANDARD_CHARSETS, encoding == null ? "UTF_8" : encoding, charsetType)));
+                    if (overload != null) {
+                        m = m.withMethodType(overload).withName(m.getName().withType(overload));
+                    }
                 }
                 return m;
             }
@@ -31,7 +31,6 @@ import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.Space;
 import org.openrewrite.java.tree.TypeUtils;
-import org.openrewrite.style.Style;
 
 import java.util.Iterator;
 
@@ -47,7 +46,7 @@ public class ExplicitInitializationVisitor<P> extends JavaIsoVisitor<P> {
     public @Nullable J visit(@Nullable Tree tree, P p) {
         //noinspection ConstantValue
         if (style == null && tree instanceof SourceFile) {
-            style = Style.from(ExplicitInitializationStyle.class, (SourceFile)tree, Checkstyle::explicitInitialization);
+            style = ResolvedStyles.from(ExplicitInitializationStyle.class, (SourceFile) tree, Checkstyle::explicitInitialization, p);
         }
         return super.visit(tree, p);
     }
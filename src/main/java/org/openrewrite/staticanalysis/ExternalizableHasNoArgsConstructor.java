@@ -16,15 +16,17 @@
 package org.openrewrite.staticanalysis;
 
 import lombok.Getter;
+import org.openrewrite.Cursor;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Space;
 import org.openrewrite.java.tree.Statement;
 import org.openrewrite.java.tree.TypeUtils;
 
@@ -82,14 +84,12 @@ public class ExternalizableHasNoArgsConstructor extends Recipe {
                                 }
                             }
                             if (!hasFinalUninitializedFieldVar && !hasNoArgsConstructor(cd) && parentClassHasNoArgsConstructor(cd)) {
-                                cd = JavaTemplate.builder("public " + cd.getSimpleName() + "() {}")
-                                        .contextSensitive()
-                                        .build()
-                                        .apply(updateCursor(cd), cd.getBody().getCoordinates().lastStatement());
-                                if (firstMethodDeclarationIndex != null) {
-                                    statements.add(firstMethodDeclarationIndex, cd.getBody().getStatements().remove(cd.getBody().getStatements().size() - 1));
-                                    cd = cd.withBody(cd.getBody().withStatements(statements));
-                                }
+                                J.MethodDeclaration constructor = JavaElementFactory.newNoArgsConstructor(cd, J.Modifier.Type.Public)
+                                        .withPrefix(Space.format("\n"));
+                                constructor = autoFormat(constructor, ctx, new Cursor(getCursor(), cd.getBody()));
+                                cd = cd.withBody(cd.getBody().withStatements(firstMethodDeclarationIndex == null ?
+                                        ListUtils.concat(statements, constructor) :
+                                        ListUtils.insert(statements, constructor, firstMethodDeclarationIndex)));
                             }
                         }
                         return cd;
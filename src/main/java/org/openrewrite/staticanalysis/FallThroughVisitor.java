@@ -29,7 +29,6 @@ import org.openrewrite.java.style.Checkstyle;
 import org.openrewrite.java.style.FallThroughStyle;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
-import org.openrewrite.style.Style;
 
 import java.util.HashSet;
 import java.util.List;
@@ -56,7 +55,7 @@ public class FallThroughVisitor<P> extends JavaIsoVisitor<P> {
     public @Nullable J visit(@Nullable Tree tree, P p) {
         //noinspection ConstantValue
         if (style == null && tree instanceof SourceFile) {
-            style = Style.from(FallThroughStyle.class, (SourceFile)tree, Checkstyle::fallThrough);
+            style = ResolvedStyles.from(FallThroughStyle.class, (SourceFile) tree, Checkstyle::fallThrough, p);
         }
         return super.visit(tree, p);
     }
@@ -98,12 +97,8 @@ public class FallThroughVisitor<P> extends JavaIsoVisitor<P> {
                 if (statements.size() == 1 && statements.get(0) instanceof J.Block) {
                     return super.visitCase(case_, p);
                 }
-                J.Break breakToAdd = autoFormat(
-                        new J.Break(Tree.randomId(), Space.EMPTY, Markers.EMPTY, null),
-                        p
-                );
-                statements.add(breakToAdd);
-                return case_.withStatements(ListUtils.map(statements, stmt -> autoFormat(stmt, p, getCursor())));
+                J.Break breakToAdd = new J.Break(Tree.randomId(), PrefixFormat.appendedStatementPrefix(statements, getCursor(), p), Markers.EMPTY, null);
+                return case_.withStatements(ListUtils.concat(statements, breakToAdd));
             }
             return case_;
         }
@@ -116,12 +111,8 @@ public class FallThroughVisitor<P> extends JavaIsoVisitor<P> {
                 if (statements.size() == 1 && statements.get(0) instanceof J.Block) {
                     return super.visitBlock(b, p);
                 }
-                J.Break breakToAdd = autoFormat(
-                        new J.Break(Tree.randomId(), Space.EMPTY, Markers.EMPTY, null),
-                        p
-                );
-                statements.add(breakToAdd);
-                b = b.withStatements(ListUtils.map(statements, stmt -> autoFormat(stmt, p, getCursor())));
+                J.Break breakToAdd = new J.Break(Tree.randomId(), PrefixFormat.appendedStatementPrefix(statements, getCursor(), p), Markers.EMPTY, null);
+                b = b.withStatements(ListUtils.concat(statements, breakToAdd));
             }
             return b;
         }
@@ -18,15 +18,19 @@ package org.openrewrite.staticanalysis;
 import lombok.Getter;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
-import org.openrewrite.Recipe;
+import org.openrewrite.ScanningRecipe;
 import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
 import org.openrewrite.staticanalysis.java.JavaFileChecker;
 
 import java.util.Set;
 
 import static java.util.Collections.singleton;
 
-public class FinalClass extends Recipe {
+public class FinalClass extends ScanningRecipe<SupertypeIndex> {
     @Getter
     final String displayName = "Finalize classes with private constructors";
 
@@ -40,7 +44,36 @@ public class FinalClass extends Recipe {
     final Set<String> tags = singleton("RSPEC-S2974");
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new JavaFileChecker<>(), new FinalClassVisitor());
+    public SupertypeIndex getInitialValue(ExecutionContext ctx) {
+        return new SupertypeIndex();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(SupertypeIndex acc) {
+        return Preconditions.check(new JavaFileChecker<>(), new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+                if (classDecl.getType() != null) {
+                    FinalClassVisitor.excludeSupertypes(classDecl.getType(), acc::add);
+                }
+                return super.visitClassDeclaration(classDecl, ctx);
+            }
+
+            @Override
+            public J.NewClass visitNewClass(J.NewClass newClass, ExecutionContext ctx) {
+                // An anonymous class extends the instantiated class
+                JavaType.FullyQualified type = newClass.getBody() == null || newClass.getClazz() == null ?
+                        null : TypeUtils.asFullyQualified(newClass.getClazz().getType());
+                if (type != null && acc.add(type.getFullyQualifiedName())) {
+                    FinalClassVisitor.excludeSupertypes(type, acc::add);
+                }
+                return super.visitNewClass(newClass, ctx);
+            }
+        });
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(SupertypeIndex acc) {
+        return Preconditions.check(new JavaFileChecker<>(), new FinalClassVisitor(acc));
     }
 }
@@ -22,16 +22,10 @@ import org.openrewrite.Tree;
 import org.openrewrite.java.AnnotationMatcher;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.tree.*;
-import org.openrewrite.marker.Markers;
 
-import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
-
-import static java.util.Collections.emptyList;
-import static org.openrewrite.Tree.randomId;
-import static org.openrewrite.staticanalysis.ModifierOrder.sortModifiers;
+import java.util.function.Predicate;
 
 public class FinalClassVisitor extends JavaIsoVisitor<ExecutionContext> {
 
@@ -42,6 +36,19 @@ public class FinalClassVisitor extends JavaIsoVisitor<ExecutionContext> {
     final Set<String> typesToFinalize = new HashSet<>();
     final Set<String> typesToNotFinalize = new HashSet<>();
 
+    /**
+     * Supertypes found in other source files, or null when only the visit root is analyzed.
+     */
+    private final @Nullable SupertypeIndex supertypes;
+
+    public FinalClassVisitor() {
+        this(null);
+    }
+
+    FinalClassVisitor(@Nullable SupertypeIndex supertypes) {
+        this.supertypes = supertypes;
+    }
+
     @Override
     public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
         boolean root = false;
@@ -53,6 +60,9 @@ public class FinalClassVisitor extends JavaIsoVisitor<ExecutionContext> {
         if (root) {
             visitRoot = null;
             typesToFinalize.removeAll(typesToNotFinalize);
+            if (supertypes != null) {
+                typesToFinalize.removeIf(supertypes::contains);
+            }
             if (!typesToFinalize.isEmpty()) {
                 result = new FinalizingVisitor(typesToFinalize).visit(tree, ctx);
             }
@@ -69,7 +79,7 @@ public class FinalClassVisitor extends JavaIsoVisitor<ExecutionContext> {
         }
 
         // Always exclude supertypes from finalization, even for abstract or final classes
-        excludeSupertypes(cd.getType());
+        excludeSupertypes(cd.getType(), typesToNotFinalize::add);
 
         if (cd.hasModifier(J.Modifier.Type.Abstract) || cd.hasModifier(J.Modifier.Type.Final)) {
             return cd;
@@ -102,10 +112,15 @@ public class FinalClassVisitor extends JavaIsoVisitor<ExecutionContext> {
         return cd;
     }
 
-    private void excludeSupertypes(JavaType.FullyQualified type) {
+    /**
+     * Walks up the supertypes of a type until one of them is already excluded.
+     *
+     * @param exclude Excludes a type by its fully qualified name, returning false if it was already excluded.
+     */
+    static void excludeSupertypes(JavaType.FullyQualified type, Predicate<String> exclude) {
         if (type.getSupertype() != null &&
-                typesToNotFinalize.add(type.getSupertype().getFullyQualifiedName())) {
-            excludeSupertypes(type.getSupertype());
+                exclude.test(type.getSupertype().getFullyQualifiedName())) {
+            excludeSupertypes(type.getSupertype(), exclude);
         }
     }
 
@@ -121,24 +136,12 @@ public class FinalClassVisitor extends JavaIsoVisitor<ExecutionContext> {
         public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
             J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
             if (cd.getType() != null && typesToFinalize.remove(cd.getType().getFullyQualifiedName())) {
-                List<J.Modifier> modifiers = new ArrayList<>(cd.getModifiers());
-                modifiers.add(new J.Modifier(randomId(), Space.EMPTY, Markers.EMPTY, null, J.Modifier.Type.Final, emptyList()));
-                modifiers = sortModifiers(modifiers);
-                cd = cd.withModifiers(modifiers);
+                cd = PrefixFormat.addModifier(cd, J.Modifier.Type.Final);
                 if (cd.getType() instanceof JavaType.Class && !cd.getType().hasFlags(Flag.Final)) {
                     Set<Flag> flags = new HashSet<>(cd.getType().getFlags());
                     flags.add(Flag.Final);
                     cd = cd.withType(((JavaType.Class) cd.getType()).withFlags(flags));
                 }
-
-                // Temporary work around until issue https://github.com/openrewrite/rewrite/issues/2348 is implemented.
-                if (!cd.getLeadingAnnotations().isEmpty()) {
-                    // Setting the prefix to empty will cause the `Spaces` visitor to fix the formatting.
-                    cd = cd.getPadding().withKind(cd.getPadding().getKind().withPrefix(Space.EMPTY));
-                }
-
-                assert getCursor().getParent() != null;
-                cd = autoFormat(cd, cd.getName(), ctx, getCursor().getParent());
             }
             return cd;
         }
@@ -15,19 +15,10 @@
  */
 package org.openrewrite.staticanalysis;
 
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.Value;
 import org.openrewrite.*;
-import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.Space;
-import org.openrewrite.marker.Markers;
-
-import java.util.concurrent.atomic.AtomicBoolean;
-
-import static java.util.Collections.emptyList;
 
 @Incubating(since = "7.0.0")
 public class FinalizeLocalVariables extends Recipe {
@@ -74,15 +65,13 @@ public class FinalizeLocalVariables extends Recipe {
                     return mv;
                 }
 
+                DefUseIndex defUse = DefUseIndex.of(getCursor());
                 if (mv.getVariables().stream()
                         .noneMatch(v -> {
                             Cursor declaringCursor = v.getDeclaringScope(getCursor());
-                            return FindAssignmentReferencesToVariable.find(declaringCursor.getValue(), v).get();
+                            return defUse.isReassigned(v.getName(), declaringCursor.getValue());
                         })) {
-                    mv = autoFormat(
-                            mv.withModifiers(
-                                    ListUtils.concat(mv.getModifiers(), new J.Modifier(Tree.randomId(), Space.EMPTY, Markers.EMPTY, null, J.Modifier.Type.Final, emptyList()))
-                            ), ctx);
+                    mv = PrefixFormat.addModifier(mv, J.Modifier.Type.Final);
                 }
 
                 return mv;
@@ -93,68 +82,4 @@ public class FinalizeLocalVariables extends Recipe {
             }
         };
     }
-
-    @EqualsAndHashCode(callSuper = false)
-    @Value
-    private static class FindAssignmentReferencesToVariable extends JavaIsoVisitor<AtomicBoolean> {
-
-        J.VariableDeclarations.NamedVariable variable;
-
-        /**
-         * @param j        The subtree to search.
-         * @param variable A {@link J.VariableDeclarations.NamedVariable} to check for any reassignment calls.
-         * @return An {@link AtomicBoolean} that is true if the variable has been reassigned and false otherwise.
-         */
-        static AtomicBoolean find(J j, J.VariableDeclarations.NamedVariable variable) {
-            return new FindAssignmentReferencesToVariable(variable)
-                    .reduce(j, new AtomicBoolean());
-        }
-
-        @Override
-        public J.Assignment visitAssignment(J.Assignment assignment, AtomicBoolean hasAssignment) {
-            if (hasAssignment.get()) {
-                return assignment;
-            }
-            J.Assignment a = super.visitAssignment(assignment, hasAssignment);
-            if (a.getVariable() instanceof J.Identifier) {
-                J.Identifier i = (J.Identifier) a.getVariable();
-                if (i.getSimpleName().equals(variable.getSimpleName())) {
-                    hasAssignment.set(true);
-                }
-            }
-            return a;
-        }
-
-        @Override
-        public J.AssignmentOperation visitAssignmentOperation(J.AssignmentOperation assignOp, AtomicBoolean hasAssignment) {
-            if (hasAssignment.get()) {
-                return assignOp;
-            }
-
-            J.AssignmentOperation a = super.visitAssignmentOperation(assignOp, hasAssignment);
-            if (a.getVariable() instanceof J.Identifier) {
-                J.Identifier i = (J.Identifier) a.getVariable();
-                if (i.getSimpleName().equals(variable.getSimpleName())) {
-                    hasAssignment.set(true);
-                }
-            }
-            return a;
-        }
-
-        @Override
-        public J.Unary visitUnary(J.Unary unary, AtomicBoolean hasAssignment) {
-            if (hasAssignment.get()) {
-                return unary;
-            }
-
-            J.Unary u = super.visitUnary(unary, hasAssignment);
-            if (u.getOperator().isModifying() && u.getExpression() instanceof J.Identifier) {
-                J.Identifier i = (J.Identifier) u.getExpression();
-                if (i.getSimpleName().equals(variable.getSimpleName())) {
-                    hasAssignment.set(true);
-                }
-            }
-            return u;
-        }
-    }
 }
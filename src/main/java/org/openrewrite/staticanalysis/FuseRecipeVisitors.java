@@ -0,0 +1,263 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.config.Environment;
+import org.openrewrite.marker.RecipesThatMadeChanges;
+
+import java.util.*;
+
+@EqualsAndHashCode(callSuper = false)
+@Value
+public class FuseRecipeVisitors extends ScanningRecipe<FuseRecipeVisitors.Accumulator> {
+
+    @Option(displayName = "Recipe",
+            description = "The fully qualified name of the recipe to run. The visitors of the recipes in the recipe list " +
+                    "of a composite recipe are fused where the recipes allow it.",
+            example = "org.openrewrite.staticanalysis.CommonStaticAnalysis")
+    String recipeName;
+
+    @Getter(AccessLevel.NONE)
+    transient List<Recipe> leafRecipes = new ArrayList<>();
+
+    String displayName = "Fuse recipe visitors";
+
+    String description = "Runs the recipes in a recipe list, visiting each Java source file once for all recipes whose " +
+            "visitors can be fused instead of once per recipe. The other recipes, such as recipes that scan the " +
+            "repository before editing or that schedule another visitor, run one after the other as usual, and the " +
+            "fused recipes run together after them.";
+
+    private List<Recipe> leafRecipes() {
+        synchronized (leafRecipes) {
+            if (leafRecipes.isEmpty()) {
+                addLeafRecipes(Environment.builder().scanRuntimeClasspath().build().activateRecipes(recipeName), leafRecipes);
+            }
+            return leafRecipes;
+        }
+    }
+
+    private static void addLeafRecipes(Recipe recipe, List<Recipe> leaves) {
+        if (recipe.getRecipeList().isEmpty()) {
+            leaves.add(recipe);
+        } else {
+            for (Recipe child : recipe.getRecipeList()) {
+                addLeafRecipes(child, leaves);
+            }
+        }
+    }
+
+    @Override
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        Accumulator acc = new Accumulator();
+        for (Recipe recipe : leafRecipes()) {
+            if (recipe instanceof ScanningRecipe) {
+                acc.accumulators.put(recipe, ((ScanningRecipe<?>) recipe).getInitialValue(ctx));
+            }
+        }
+        return acc;
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof SourceFile) {
+                    for (Recipe recipe : leafRecipes()) {
+                        if (recipe instanceof ScanningRecipe) {
+                            TreeVisitor<?, ExecutionContext> scanner = scanner(recipe, acc.accumulators.get(recipe));
+                            if (scanner.isAcceptable((SourceFile) tree, ctx)) {
+                                ctx.putCurrentRecipe(recipe);
+                                try {
+                                    scanner.visit(tree, ctx);
+                                } catch (RuntimeException e) {
+                                    ctx.getOnError().accept(e);
+                                }
+                            }
+                        }
+                    }
+                    ctx.putCurrentRecipe(FuseRecipeVisitors.this);
+                }
+                return tree;
+            }
+        };
+    }
+
+    @Override
+    public Collection<? extends SourceFile> generate(Accumulator acc, ExecutionContext ctx) {
+        List<SourceFile> generated = new ArrayList<>();
+        for (Recipe recipe : leafRecipes()) {
+            if (recipe instanceof ScanningRecipe) {
+                ctx.putCurrentRecipe(recipe);
+                generated.addAll(generate(recipe, acc.accumulators.get(recipe), ctx));
+            }
+        }
+        ctx.putCurrentRecipe(this);
+        return generated;
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(Accumulator acc) {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (!(tree instanceof SourceFile)) {
+                    return tree;
+                }
+                SourceFile after = visitSourceFile((SourceFile) tree, acc, ctx);
+                ctx.putCurrentRecipe(FuseRecipeVisitors.this);
+                return after;
+            }
+        };
+    }
+
+    private @Nullable SourceFile visitSourceFile(SourceFile sourceFile, Accumulator acc, ExecutionContext ctx) {
+        // The visitors of the fusible recipes defer themselves instead of visiting the source file
+        List<FusedTraversal.Member> fused = new ArrayList<>();
+        for (Recipe recipe : leafRecipes()) {
+            List<FusibleVisitor> deferred = new ArrayList<>();
+            SourceFile after = visitRecipe(recipe, sourceFile, deferred, acc, ctx);
+            if (after == null) {
+                return null;
+            }
+            sourceFile = after;
+            for (FusibleVisitor visitor : deferred) {
+                fused.add(new FusedTraversal.Member(recipe, visitor));
+            }
+        }
+
+        List<Recipe> visitedAfter = new ArrayList<>();
+        while (!fused.isEmpty()) {
+            SourceFile after = (SourceFile) new FusedTraversal(fused).visit(sourceFile, ctx);
+            List<FusedTraversal.Member> remaining = new ArrayList<>(fused.size());
+            for (FusedTraversal.Member member : fused) {
+                if (member.failure != null) {
+                    ctx.getOnError().accept(member.failure);
+                } else if (member.visitor.isVisitedAfter()) {
+                    visitedAfter.add(member.recipe);
+                } else {
+                    remaining.add(member);
+                }
+            }
+            if (remaining.size() == fused.size()) {
+                if (after == null) {
+                    return null;
+                }
+                for (FusedTraversal.Member member : fused) {
+                    if (member.changed) {
+                        after = recipeMadeChanges(after, member.recipe);
+                    }
+                }
+                sourceFile = after;
+                break;
+            }
+            // Visit the source file again without the visitors that could not be fused, discarding what changed
+            for (FusedTraversal.Member member : remaining) {
+                member.changed = false;
+            }
+            fused = remaining;
+        }
+
+        for (Recipe recipe : visitedAfter) {
+            SourceFile after = visitRecipe(recipe, sourceFile, null, acc, ctx);
+            if (after == null) {
+                return null;
+            }
+            sourceFile = after;
+        }
+        return sourceFile;
+    }
+
+    /**
+     * @param deferred The list to collect the fusible visitors of the recipe in, or null to run them.
+     */
+    private @Nullable SourceFile visitRecipe(Recipe recipe, SourceFile sourceFile, @Nullable List<FusibleVisitor> deferred,
+                                             Accumulator acc, ExecutionContext ctx) {
+        TreeVisitor<?, ExecutionContext> visitor = recipe instanceof ScanningRecipe ?
+                visitor(recipe, acc.accumulators.get(recipe)) :
+                recipe.getVisitor();
+        if (!visitor.isAcceptable(sourceFile, ctx)) {
+            return sourceFile;
+        }
+        ctx.putCurrentRecipe(recipe);
+        SourceFile after;
+        try {
+            after = deferred == null ?
+                    (SourceFile) visitor.visit(sourceFile, ctx) :
+                    FusedTraversal.collect(() -> (SourceFile) visitor.visit(sourceFile, ctx), deferred, ctx);
+        } catch (RuntimeException e) {
+            ctx.getOnError().accept(e);
+            if (deferred != null) {
+                deferred.clear();
+            }
+            return sourceFile;
+        }
+        return after == null || after == sourceFile ? after : recipeMadeChanges(after, recipe);
+    }
+
+    private SourceFile recipeMadeChanges(SourceFile sourceFile, Recipe recipe) {
+        List<List<Recipe>> recipeStacks = new ArrayList<>();
+        recipeStacks.add(Arrays.asList(this, recipe));
+        return sourceFile.withMarkers(sourceFile.getMarkers().computeByType(
+                new RecipesThatMadeChanges(Tree.randomId(), recipeStacks),
+                (r1, r2) -> {
+                    r1.getRecipes().addAll(r2.getRecipes());
+                    return r1;
+                }));
+    }
+
+    @Override
+    public void onComplete(ExecutionContext ctx) {
+        for (Recipe recipe : leafRecipes()) {
+            recipe.onComplete(ctx);
+        }
+    }
+
+    @Override
+    public boolean causesAnotherCycle() {
+        for (Recipe recipe : leafRecipes()) {
+            if (recipe.causesAnotherCycle()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> TreeVisitor<?, ExecutionContext> scanner(Recipe recipe, @Nullable Object acc) {
+        return ((ScanningRecipe<T>) recipe).getScanner((T) acc);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Collection<? extends SourceFile> generate(Recipe recipe, @Nullable Object acc, ExecutionContext ctx) {
+        return ((ScanningRecipe<T>) recipe).generate((T) acc, ctx);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> TreeVisitor<?, ExecutionContext> visitor(Recipe recipe, @Nullable Object acc) {
+        return ((ScanningRecipe<T>) recipe).getVisitor((T) acc);
+    }
+
+    public static class Accumulator {
+        final Map<Recipe, @Nullable Object> accumulators = new IdentityHashMap<>();
+    }
+}
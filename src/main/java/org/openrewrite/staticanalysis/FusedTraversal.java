@@ -0,0 +1,164 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.tree.J;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * A single traversal of a Java source file that hands every tree to the {@link FusibleVisitor}s of several recipes,
+ * after its subtrees. A tree is only handed to the visitors that have a {@code visit} method for its type, so a
+ * visitor that only rewrites method declarations costs nothing on the other trees.
+ */
+final class FusedTraversal extends JavaVisitor<ExecutionContext> {
+    private static final String DEFERRED_VISITORS_KEY = "org.openrewrite.staticanalysis.DEFERRED_VISITORS";
+
+    /**
+     * The types of the trees a visitor class has a {@code visit} method for. Methods for trees that are not
+     * {@link J}, such as spaces and padding, or for all trees, such as {@code preVisit}, match every tree.
+     */
+    private static final ClassValue<List<Class<?>>> VISITED_TYPES = new ClassValue<List<Class<?>>>() {
+        @Override
+        protected List<Class<?>> computeValue(Class<?> visitorClass) {
+            List<Class<?>> types = new ArrayList<>();
+            for (Class<?> c = visitorClass;
+                 c != null && c != FusibleJavaVisitor.class && c != FusibleJavaIsoVisitor.class;
+                 c = c.getSuperclass()) {
+                for (Method method : c.getDeclaredMethods()) {
+                    if (method.isBridge() || Modifier.isStatic(method.getModifiers()) ||
+                        Modifier.isPrivate(method.getModifiers()) || !isVisitMethod(method.getName())) {
+                        continue;
+                    }
+                    Class<?>[] parameters = method.getParameterTypes();
+                    types.add(parameters.length > 0 && J.class.isAssignableFrom(parameters[0]) ? parameters[0] : J.class);
+                }
+            }
+            return types;
+        }
+    };
+
+    private final List<Member> members;
+    private final Map<Class<?>, boolean[]> visitingByType = new HashMap<>();
+
+    FusedTraversal(List<Member> members) {
+        this.members = members;
+    }
+
+    /**
+     * Called by a fusible visitor that is asked to visit a whole source file. While the recipes to fuse are
+     * collected, the visitor is collected instead of visiting the source file.
+     *
+     * @return true if the visitor was collected, and so must not visit the source file.
+     */
+    static boolean defer(FusibleVisitor visitor, ExecutionContext ctx) {
+        List<FusibleVisitor> deferred = ctx.getMessage(DEFERRED_VISITORS_KEY);
+        if (deferred == null) {
+            return false;
+        }
+        deferred.add(visitor);
+        return true;
+    }
+
+    /**
+     * Runs the visitor of a recipe on a source file, collecting the fusible visitors it would otherwise run.
+     *
+     * @param deferred The fusible visitors the recipe would run, added to by this method.
+     * @return the source file as changed by the visitors of the recipe that are not fusible.
+     */
+    static <T> T collect(Visit<T> visit, List<FusibleVisitor> deferred, ExecutionContext ctx) {
+        ctx.putMessage(DEFERRED_VISITORS_KEY, deferred);
+        try {
+            return visit.run();
+        } finally {
+            ctx.pollMessage(DEFERRED_VISITORS_KEY);
+        }
+    }
+
+    @Override
+    public @Nullable J postVisit(J tree, ExecutionContext ctx) {
+        Cursor parent = getCursor().getParentOrThrow();
+        J j = tree;
+        boolean[] visiting = visiting(j.getClass());
+        for (int i = 0; i < members.size(); i++) {
+            Member member = members.get(i);
+            if (!visiting[i] || member.failure != null) {
+                continue;
+            }
+            ctx.putCurrentRecipe(member.recipe);
+            try {
+                J visited = member.visitor.visitOnly(j, ctx, parent);
+                if (visited != j) {
+                    member.changed = true;
+                    if (visited == null) {
+                        return null;
+                    }
+                    if (visited.getClass() != j.getClass()) {
+                        visiting = visiting(visited.getClass());
+                    }
+                    j = visited;
+                }
+            } catch (RuntimeException e) {
+                member.failure = e;
+            }
+        }
+        return j;
+    }
+
+    private boolean[] visiting(Class<?> type) {
+        return visitingByType.computeIfAbsent(type, t -> {
+            boolean[] visiting = new boolean[members.size()];
+            for (int i = 0; i < members.size(); i++) {
+                for (Class<?> visited : VISITED_TYPES.get(members.get(i).visitor.getClass())) {
+                    if (visited.isAssignableFrom(t)) {
+                        visiting[i] = true;
+                        break;
+                    }
+                }
+            }
+            return visiting;
+        });
+    }
+
+    private static boolean isVisitMethod(String name) {
+        return name.startsWith("visit") && !"visitOnly".equals(name) ||
+               "preVisit".equals(name) || "postVisit".equals(name);
+    }
+
+    @RequiredArgsConstructor
+    static class Member {
+        final Recipe recipe;
+        final FusibleVisitor visitor;
+
+        boolean changed;
+
+        @Nullable
+        RuntimeException failure;
+    }
+
+    @FunctionalInterface
+    interface Visit<T> {
+        T run();
+    }
+}
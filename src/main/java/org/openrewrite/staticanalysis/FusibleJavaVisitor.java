@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.tree.J;
+
+/**
+ * A {@link JavaVisitor} that {@link FuseRecipeVisitors} can fuse with the visitors of other recipes. It behaves
+ * like any other {@link JavaVisitor} when it is not fused.
+ *
+ * @see FusibleVisitor
+ */
+abstract class FusibleJavaVisitor extends JavaVisitor<ExecutionContext> implements FusibleVisitor {
+
+    @Nullable
+    private J visiting;
+
+    private boolean visitedAfter;
+
+    @Override
+    public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
+        if (visiting != null) {
+            // The subtrees have already been visited by the fused traversal
+            return tree == visiting ? super.visit(tree, ctx) : (J) tree;
+        }
+        if (tree instanceof J.CompilationUnit && FusedTraversal.defer(this, ctx)) {
+            return (J) tree;
+        }
+        return super.visit(tree, ctx);
+    }
+
+    @Override
+    public @Nullable J visitOnly(J tree, ExecutionContext ctx, Cursor parent) {
+        visiting = tree;
+        try {
+            return visit(tree, ctx, parent);
+        } finally {
+            visiting = null;
+        }
+    }
+
+    @Override
+    public void doAfterVisit(TreeVisitor<?, ExecutionContext> visitor) {
+        if (visiting != null) {
+            // Would run on the tree being visited rather than on the source file
+            visitedAfter = true;
+            return;
+        }
+        super.doAfterVisit(visitor);
+    }
+
+    @Override
+    public boolean isVisitedAfter() {
+        return visitedAfter;
+    }
+}
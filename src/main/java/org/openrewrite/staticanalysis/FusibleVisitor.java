@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.tree.J;
+
+/**
+ * A visitor that {@link FuseRecipeVisitors} runs in a single traversal of a Java source file together with the
+ * visitors of other recipes, instead of in a traversal of its own.
+ * <p>
+ * A fused visitor is handed each tree it has a {@code visit} method for after all subtrees of that tree have been
+ * visited, and it only rewrites that tree. So it must not carry state from one tree to the next, read cursor messages
+ * put by an enclosing tree, or be wrapped in a {@code Repeat}. A visitor that calls
+ * {@link TreeVisitor#doAfterVisit(TreeVisitor)} while fused, directly or through {@code maybeAddImport}, is run in a
+ * traversal of its own instead.
+ */
+interface FusibleVisitor {
+
+    /**
+     * Visits a tree without visiting its subtrees.
+     *
+     * @param parent The cursor of the parent of the tree.
+     * @return the visited tree.
+     */
+    @Nullable
+    J visitOnly(J tree, ExecutionContext ctx, Cursor parent);
+
+    /**
+     * @return true if the visitor scheduled another visitor to run after it while it was fused.
+     */
+    boolean isVisitedAfter();
+}
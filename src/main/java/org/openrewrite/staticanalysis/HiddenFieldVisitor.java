@@ -29,31 +29,28 @@ import org.openrewrite.java.cleanup.RenameJavaDocParamNameVisitor;
 import org.openrewrite.java.style.Checkstyle;
 import org.openrewrite.java.style.HiddenFieldStyle;
 import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeUtils;
-import org.openrewrite.style.Style;
 
-import java.util.LinkedHashSet;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.*;
+import java.util.function.Predicate;
 
+import static java.util.Collections.emptySet;
+import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 @NoArgsConstructor
 @AllArgsConstructor
 public class HiddenFieldVisitor<P> extends JavaIsoVisitor<P> {
-    private static final Pattern NEXT_NAME_PATTERN = Pattern.compile("(.+)(\\d+)");
+    private static final String NAME_SCOPES = "HIDDEN_FIELD_NAME_SCOPES";
     private HiddenFieldStyle style;
 
     @Override
     public @Nullable J visit(@Nullable Tree tree, P p) {
         //noinspection ConstantValue
         if (style == null && tree instanceof SourceFile) {
-            style = Style.from(HiddenFieldStyle.class, (SourceFile)tree, Checkstyle::hiddenFieldStyle);
+            style = ResolvedStyles.from(HiddenFieldStyle.class, (SourceFile) tree, Checkstyle::hiddenFieldStyle, p);
         }
         return super.visit(tree, p);
     }
@@ -89,73 +86,164 @@ public class HiddenFieldVisitor<P> extends JavaIsoVisitor<P> {
                 .flatMap(vd -> vd.getVariables().stream())
                 .collect(toList());
 
-        classFields.forEach(cf -> FindNameShadows.find(classDecl, cf, classDecl, style)
-                .forEach(shadow -> doAfterVisit(new RenameShadowedName<>(shadow, style))));
+        Set<String> fieldNames = classFields.stream()
+                .map(J.VariableDeclarations.NamedVariable::getSimpleName)
+                .collect(toCollection(LinkedHashSet::new));
+        Set<UUID> fieldIds = classFields.stream()
+                .map(J.VariableDeclarations.NamedVariable::getId)
+                .collect(toSet());
+        Map<String, Set<J.VariableDeclarations.NamedVariable>> shadows = FindNameShadows.find(classDecl, fieldNames::contains, fieldIds, classDecl, style);
+        if (!shadows.isEmpty()) {
+            Map<UUID, NameScope> nameScopes = nameScopes(getCursor());
+            for (String fieldName : fieldNames) {
+                for (J.VariableDeclarations.NamedVariable shadow : shadows.getOrDefault(fieldName, emptySet())) {
+                    NameScope scope = nameScopes.get(shadow.getId());
+                    if (scope != null) {
+                        String newName = scope.nextFreeName(shadow.getSimpleName());
+                        scope.declare(newName);
+                        doAfterVisit(new RenameShadowedName<>(shadow, newName));
+                    }
+                }
+            }
+        }
 
         return super.visitClassDeclaration(classDecl, p);
     }
 
+    /**
+     * The name scopes of the outermost class enclosing the cursor, indexed once and shared by all the classes nested in it.
+     */
+    private static Map<UUID, NameScope> nameScopes(Cursor cursor) {
+        Cursor outermostClass = cursor;
+        for (Cursor c = cursor.getParent(); c != null; c = c.getParent()) {
+            if (c.getValue() instanceof J.ClassDeclaration) {
+                outermostClass = c;
+            }
+        }
+        J.ClassDeclaration classDecl = outermostClass.getValue();
+        return outermostClass.computeMessageIfAbsent(NAME_SCOPES, k -> IndexNameScopes.index(classDecl));
+    }
+
+    /**
+     * The names declared in one name scope: the fields of a class, the parameters of a method or lambda, the resources
+     * and catch parameters of a try, the variables of a for loop or the locals of a block.
+     */
     @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-    private static class FindExistingVariableDeclarations extends JavaIsoVisitor<Set<J.VariableDeclarations.NamedVariable>> {
-        private final Cursor childTargetReference;
-        private final String childTargetName;
+    private static class NameScope {
+        /**
+         * The enclosing scope, or {@code null} when names of enclosing scopes are not visible, as in static nested classes.
+         */
+        private final @Nullable NameScope parent;
+
+        private final Set<String> declared = new HashSet<>();
+
+        /**
+         * The names declared in this scope and in all scopes nested in it.
+         */
+        private final Set<String> declaredWithin = new HashSet<>();
+
+        void declare(String name) {
+            declared.add(name);
+            for (NameScope scope = this; scope != null; scope = scope.parent) {
+                if (!scope.declaredWithin.add(name)) {
+                    // the enclosing scopes already know the name as well
+                    break;
+                }
+            }
+        }
 
         /**
-         * In the context of {@link HiddenFieldVisitor}, this is used to determine whether there is an existing variable definition
-         * within the same name scope as the provided {@param childTargetReference}. This ensures that when we want to increment
-         * the name of a variable we're renaming, we aren't renaming it to something that will cause a name collision with existing variable declarations.
+         * A name is taken when it is declared "downstream" within this scope or "upstream" in any scope enclosing it.
+         */
+        boolean isTaken(String name) {
+            if (declaredWithin.contains(name)) {
+                return true;
+            }
+            for (NameScope scope = parent; scope != null; scope = scope.parent) {
+                if (scope.declared.contains(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Increments the numeric suffix of the name, {@code n} becoming {@code n1} and {@code n1} becoming {@code n2},
+         * until the name is not taken.
+         */
+        String nextFreeName(String name) {
+            int baseLength = name.length();
+            while (baseLength > 1 && name.length() - baseLength < 9 && Character.isDigit(name.charAt(baseLength - 1))) {
+                baseLength--;
+            }
+            String base = name.substring(0, baseLength);
+            int suffix = baseLength == name.length() ? 0 : Integer.parseInt(name.substring(baseLength));
+            String nextName;
+            do {
+                nextName = base + ++suffix;
+            } while (isTaken(nextName));
+            return nextName;
+        }
+    }
+
+    private static class IndexNameScopes extends JavaIsoVisitor<Map<UUID, NameScope>> {
+        private static final String SCOPE = "NAME_SCOPE";
+
+        /**
+         * Builds the chain of name scopes of a class in a single traversal: class fields, then method parameters,
+         * then block locals and lambda parameters.
          *
-         * @param j                    The subtree to search.
-         * @param childTargetReference The location of the variable declaration of our original search target.
-         * @param childTargetName      The name of the {@param childTargetReference} we'd like to see if anything exists.
-         * @return A set of existing variable definition of the {@param childTargetName} within the same name scope as the {@param childTargetName}.
+         * @param classDecl The outermost class to index.
+         * @return The name scope each variable of the class is declared in, by the id of the variable.
          */
-        public static Set<J.VariableDeclarations.NamedVariable> find(J j, Cursor childTargetReference, String childTargetName) {
-            Set<J.VariableDeclarations.NamedVariable> references = new LinkedHashSet<>();
-            new FindExistingVariableDeclarations(childTargetReference, childTargetName).visit(j, references);
-            return references;
+        static Map<UUID, NameScope> index(J.ClassDeclaration classDecl) {
+            Map<UUID, NameScope> scopes = new HashMap<>();
+            new IndexNameScopes().visit(classDecl, scopes);
+            return scopes;
+        }
+
+        @Override
+        public J preVisit(J tree, Map<UUID, NameScope> scopes) {
+            if (tree instanceof J.ClassDeclaration) {
+                J.ClassDeclaration classDecl = (J.ClassDeclaration) tree;
+                // static nested classes, interfaces, enums and records don't see the names of their enclosing scopes
+                boolean sharesEnclosingScope = classDecl.getKind() == J.ClassDeclaration.Kind.Type.Class &&
+                                               !classDecl.hasModifier(J.Modifier.Type.Static);
+                getCursor().putMessage(SCOPE, new NameScope(sharesEnclosingScope ? getCursor().getNearestMessage(SCOPE) : null));
+            } else if (tree instanceof J.Block ||
+                       tree instanceof J.MethodDeclaration ||
+                       tree instanceof J.Lambda ||
+                       tree instanceof J.Try ||
+                       tree instanceof J.ForLoop ||
+                       tree instanceof J.ForEachLoop) {
+                // catch parameters are declared in the scope of their try, like in JavaVisitor#isInSameNameScope
+                getCursor().putMessage(SCOPE, new NameScope(getCursor().getNearestMessage(SCOPE)));
+            }
+            return tree;
         }
 
         @Override
-        public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable, Set<J.VariableDeclarations.NamedVariable> ctx) {
-            if (variable.getSimpleName().equals(childTargetName) && isInSameNameScope(getCursor(), childTargetReference)) {
-                ctx.add(variable);
+        public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable, Map<UUID, NameScope> scopes) {
+            NameScope scope = getCursor().getNearestMessage(SCOPE);
+            if (scope != null) {
+                scope.declare(variable.getSimpleName());
+                scopes.put(variable.getId(), scope);
             }
-            return super.visitVariable(variable, ctx);
+            return super.visitVariable(variable, scopes);
         }
     }
 
     @RequiredArgsConstructor
     private static class RenameShadowedName<P> extends JavaIsoVisitor<P> {
         private final J.VariableDeclarations.NamedVariable targetVariable;
-        private final HiddenFieldStyle hiddenFieldStyle;
-
-        private static String nextName(String name) {
-            Matcher nameMatcher = NEXT_NAME_PATTERN.matcher(name);
-            return nameMatcher.matches() ?
-                    nameMatcher.group(1) + (Integer.parseInt(nameMatcher.group(2)) + 1) :
-                    name + "1";
-        }
+        private final String newName;
 
         @Override
         public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable, P p) {
             J.VariableDeclarations.NamedVariable v = super.visitVariable(variable, p);
             if (v.isScope(targetVariable)) {
-                String nextName = nextName(v.getSimpleName());
-                JavaSourceFile enclosingCU = getCursor().firstEnclosingOrThrow(JavaSourceFile.class);
+                doAfterVisit(new RenameVariable<>(v, newName));
                 Cursor parentScope = getCursorToParentScope(getCursor());
-                J.ClassDeclaration enclosingClass = getCursor().firstEnclosing(J.ClassDeclaration.class);
-                if (enclosingClass == null) {
-                    return v;
-                }
-                while (// don't use a variable name of any existing variable "downstream" of the renamed variable's scope
-                        !FindNameShadows.find(parentScope.getValue(), v.withName(v.getName().withSimpleName(nextName)), enclosingClass, hiddenFieldStyle).isEmpty() ||
-                                // don't use a variable name of any existing variables already defined in the "upstream" cursor path of the renamed variable's scope
-                                !FindExistingVariableDeclarations.find(enclosingCU, getCursor(), nextName).isEmpty()
-                ) {
-                    nextName = nextName(nextName);
-                }
-                doAfterVisit(new RenameVariable<>(v, nextName));
                 if (parentScope.getValue() instanceof J.MethodDeclaration) {
                     Optional<J.VariableDeclarations> variableParameter = ((J.MethodDeclaration) parentScope.getValue()).getParameters().stream()
                             .filter(J.VariableDeclarations.class::isInstance)
@@ -163,7 +251,7 @@ public class HiddenFieldVisitor<P> extends JavaIsoVisitor<P> {
                             .filter(it -> it.getVariables().contains(v))
                             .findFirst();
                     if (variableParameter.isPresent()) {
-                        doAfterVisit(new RenameJavaDocParamNameVisitor<>(parentScope.getValue(), v.getSimpleName(), nextName));
+                        doAfterVisit(new RenameJavaDocParamNameVisitor<>(parentScope.getValue(), v.getSimpleName(), newName));
                     }
                 }
             }
@@ -173,29 +261,34 @@ public class HiddenFieldVisitor<P> extends JavaIsoVisitor<P> {
     }
 
     @RequiredArgsConstructor
-    private static class FindNameShadows extends JavaIsoVisitor<Set<J.VariableDeclarations.NamedVariable>> {
-        private final J.VariableDeclarations.NamedVariable targetVariable;
+    private static class FindNameShadows extends JavaIsoVisitor<Map<String, Set<J.VariableDeclarations.NamedVariable>>> {
+        private final Predicate<String> targetNames;
+        private final Set<UUID> targetVariableIds;
         private final J.ClassDeclaration targetVariableEnclosingClass;
         private final HiddenFieldStyle hiddenFieldStyle;
 
         /**
-         * Find {@link J.VariableDeclarations.NamedVariable} definitions within the searched tree which "hide" the target variable definition
-         * from an outer tree. Specifically, used to find local variables or method parameters which shadow a class field.
+         * Find {@link J.VariableDeclarations.NamedVariable} definitions within the searched tree which "hide" the target variable definitions
+         * from an outer tree. Specifically, used to find local variables or method parameters which shadow class fields.
+         * All target names are searched for in a single traversal.
          *
          * @param j                            The subtree to search.
-         * @param targetVariable               The {@link J.VariableDeclarations.NamedVariable} to identify whether any other variables shadow it.
-         * @param targetVariableEnclosingClass The enclosing class of where the {@param targetVariable} is defined.
+         * @param targetNames                  The names of the variables to identify whether any other variables shadow them.
+         * @param targetVariableIds            The ids of the {@link J.VariableDeclarations.NamedVariable} definitions of the targets, which don't shadow themselves.
+         * @param targetVariableEnclosingClass The enclosing class of where the {@param targetVariables} are defined.
          * @param hiddenFieldStyle             The {@link HiddenFieldStyle} to use as part of search criteria.
-         * @return A set representing any found {@link J.VariableDeclarations.NamedVariable} which shadow the provided {@param targetVariable}.
+         * @return The found {@link J.VariableDeclarations.NamedVariable} which shadow a target, by the name they share with it.
          */
-        public static Set<J.VariableDeclarations.NamedVariable> find(J j, J.VariableDeclarations.NamedVariable targetVariable, J.ClassDeclaration targetVariableEnclosingClass, HiddenFieldStyle hiddenFieldStyle) {
-            Set<J.VariableDeclarations.NamedVariable> references = new LinkedHashSet<>();
-            new FindNameShadows(targetVariable, targetVariableEnclosingClass, hiddenFieldStyle).visit(j, references);
+        public static Map<String, Set<J.VariableDeclarations.NamedVariable>> find(J j, Predicate<String> targetNames,
+                                                                                   Set<UUID> targetVariableIds,
+                                                                                   J.ClassDeclaration targetVariableEnclosingClass, HiddenFieldStyle hiddenFieldStyle) {
+            Map<String, Set<J.VariableDeclarations.NamedVariable>> references = new HashMap<>();
+            new FindNameShadows(targetNames, targetVariableIds, targetVariableEnclosingClass, hiddenFieldStyle).visit(j, references);
             return references;
         }
 
         @Override
-        public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, Set<J.VariableDeclarations.NamedVariable> ctx) {
+        public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, Map<String, Set<J.VariableDeclarations.NamedVariable>> ctx) {
             // do not go into static inner classes, interfaces, or enums which have a different name scope
             if (classDecl.getKind() != J.ClassDeclaration.Kind.Type.Class || classDecl.hasModifier(J.Modifier.Type.Static)) {
                 return classDecl;
@@ -204,7 +297,7 @@ public class HiddenFieldVisitor<P> extends JavaIsoVisitor<P> {
         }
 
         @Override
-        public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, Set<J.VariableDeclarations.NamedVariable> ctx) {
+        public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, Map<String, Set<J.VariableDeclarations.NamedVariable>> ctx) {
             // do not go into static methods-- local variables of static methods don't hide instance fields
             if (method.hasModifier(J.Modifier.Type.Static)) {
                 return method;
@@ -213,7 +306,7 @@ public class HiddenFieldVisitor<P> extends JavaIsoVisitor<P> {
         }
 
         @Override
-        public J.Block visitBlock(J.Block block, Set<J.VariableDeclarations.NamedVariable> ctx) {
+        public J.Block visitBlock(J.Block block, Map<String, Set<J.VariableDeclarations.NamedVariable>> ctx) {
             // do not go into static initialization blocks-- local variables of static initializers don't hide instance fields
             if (block.isStatic()) {
                 return block;
@@ -222,11 +315,11 @@ public class HiddenFieldVisitor<P> extends JavaIsoVisitor<P> {
         }
 
         @Override
-        public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable, Set<J.VariableDeclarations.NamedVariable> ctx) {
+        public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable, Map<String, Set<J.VariableDeclarations.NamedVariable>> ctx) {
             J.VariableDeclarations.NamedVariable v = super.visitVariable(variable, ctx);
 
-            // skip if we are visiting the original target variable, or else this will consider a variable to be a shadow of itself.
-            if (v.getSimpleName().equals(targetVariable.getSimpleName()) && !v.isScope(targetVariable)) {
+            // skip if we are visiting an original target variable, or else this will consider a variable to be a shadow of itself.
+            if (targetNames.test(v.getSimpleName()) && !targetVariableIds.contains(v.getId())) {
                 Tree maybeMethodDecl = getCursor()
                         .getParentTreeCursor() // J.VariableDeclarations
                         .getParentTreeCursor() // maybe J.MethodDeclaration
@@ -254,7 +347,7 @@ public class HiddenFieldVisitor<P> extends JavaIsoVisitor<P> {
                 }
 
                 if (!isIgnorableSetter && !isIgnorableConstructorParam && !isIgnorableAbstractMethod) {
-                    ctx.add(v);
+                    ctx.computeIfAbsent(v.getSimpleName(), k -> new LinkedHashSet<>()).add(v);
                 }
             }
             return v;
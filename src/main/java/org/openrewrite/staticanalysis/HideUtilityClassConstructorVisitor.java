@@ -20,14 +20,15 @@ import org.jspecify.annotations.Nullable;
 import org.openrewrite.Cursor;
 import org.openrewrite.SourceFile;
 import org.openrewrite.Tree;
+import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.*;
 import org.openrewrite.java.service.AnnotationService;
 import org.openrewrite.java.style.Checkstyle;
 import org.openrewrite.java.style.HideUtilityClassConstructorStyle;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Space;
 import org.openrewrite.java.tree.Statement;
-import org.openrewrite.style.Style;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -71,7 +72,7 @@ public class HideUtilityClassConstructorVisitor<P> extends JavaIsoVisitor<P> {
     public @Nullable J visit(@Nullable Tree tree, P p) {
         //noinspection ConstantValue
         if (style == null && tree instanceof SourceFile) {
-            style = Style.from(HideUtilityClassConstructorStyle.class, (SourceFile)tree, Checkstyle::hideUtilityClassConstructorStyle);
+            style = ResolvedStyles.from(HideUtilityClassConstructorStyle.class, (SourceFile) tree, Checkstyle::hideUtilityClassConstructorStyle, p);
             utilityClassMatcher = new UtilityClassMatcher(style.getIgnoreIfAnnotatedBy());
         }
         return super.visit(tree, p);
@@ -109,10 +110,11 @@ public class HideUtilityClassConstructorVisitor<P> extends JavaIsoVisitor<P> {
         public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, P p) {
             if (utilityClassMatcher.hasImplicitDefaultConstructor(classDecl) &&
                     J.ClassDeclaration.Kind.Type.Enum != classDecl.getKind()) {
-                classDecl = JavaTemplate.builder("private #{}() {}")
-                        .contextSensitive()
-                        .build()
-                        .apply(getCursor(), classDecl.getBody().getCoordinates().lastStatement(), classDecl.getSimpleName());
+                J.MethodDeclaration constructor = JavaElementFactory.newNoArgsConstructor(classDecl, J.Modifier.Type.Private)
+                        .withPrefix(Space.format("\n"));
+                constructor = autoFormat(constructor, p, new Cursor(getCursor(), classDecl.getBody()));
+                classDecl = classDecl.withBody(classDecl.getBody().withStatements(
+                        ListUtils.concat(classDecl.getBody().getStatements(), constructor)));
             }
             return classDecl;
         }
@@ -18,7 +18,6 @@ package org.openrewrite.staticanalysis;
 import lombok.Getter;
 import org.openrewrite.*;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.J;
@@ -57,7 +56,7 @@ public class IndexOfChecksShouldUseAStartPosition extends Recipe {
 
                     J.MethodInvocation m = (J.MethodInvocation) b.getLeft();
                     Cursor cursor = new Cursor(getCursor(), b.getLeft());
-                    b = b.withLeft(JavaTemplate.apply("#{any(java.lang.String)}, #{any(int)}", cursor, m.getCoordinates().replaceArguments(), m.getArguments().get(0), b.getRight()));
+                    b = b.withLeft(TemplateCache.get("#{any(java.lang.String)}, #{any(int)}").apply(cursor, m.getCoordinates().replaceArguments(), m.getArguments().get(0), b.getRight()));
 
                     b = b.withRight(new J.Literal(
                             Tree.randomId(),
@@ -72,16 +72,39 @@ public class InstanceOfPatternMatch extends Recipe {
         );
 
         return Preconditions.check(preconditions, new JavaVisitor<ExecutionContext>() {
+            /**
+             * The flow scope of each tree on the path to the current one, which is at the top.
+             */
+            private final Deque<FlowScope> flowScopes = new ArrayDeque<>();
+
+            @Override
+            public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
+                int depth = flowScopes.size();
+                try {
+                    return super.visit(tree, ctx);
+                } finally {
+                    while (flowScopes.size() > depth) {
+                        flowScopes.pop();
+                    }
+                }
+            }
+
+            @Override
+            public J preVisit(J tree, ExecutionContext ctx) {
+                FlowScope enclosing = flowScopes.isEmpty() ? new FlowScope(null, false, null, new HashSet<>()) : flowScopes.peek();
+                flowScopes.push(enclosing.enter(tree, getCursor()));
+                return super.preVisit(tree, ctx);
+            }
+
             @Override
             public @Nullable J postVisit(J tree, ExecutionContext ctx) {
                 J result = super.postVisit(tree, ctx);
-                InstanceOfPatternReplacements original = getCursor().getMessage("flowTypeScope");
-                if (original != null && !original.isEmpty()) {
-                    Cursor methodCursor = getCursor().dropParentUntil(
-                            v -> v instanceof J.MethodDeclaration || v instanceof J.ClassDeclaration || v == Cursor.ROOT_VALUE);
-                    Set<String> introducedNames = methodCursor.computeMessageIfAbsent(
-                            "introducedPatternVarNames", k -> new HashSet<>());
-                    return UseInstanceOfPatternMatching.refactor(result, original, getCursor().getParentOrThrow(), introducedNames);
+                FlowScope scope = flowScopes.peek();
+                if (scope != null && scope.statement != null && scope.statement.cursor == getCursor()) {
+                    InstanceOfPatternReplacements original = scope.statement.replacements;
+                    if (original != null && !original.isEmpty()) {
+                        return UseInstanceOfPatternMatching.refactor(result, original, getCursor().getParentOrThrow(), scope.introducedNames);
+                    }
                 }
                 return result;
             }
@@ -93,47 +116,26 @@ public class InstanceOfPatternMatch extends Recipe {
                     return instanceOf;
                 }
 
-                Cursor maybeReplacementRoot = null;
-                J additionalContext = null;
-                boolean flowScopeBreakEncountered = false;
-                for (Iterator<Cursor> it = getCursor().getPathAsCursors(); it.hasNext(); ) {
-                    Cursor next = it.next();
-                    Object value = next.getValue();
-                    if (value instanceof J.Binary) {
-                        J.Binary binary = (J.Binary) value;
-                        if (!flowScopeBreakEncountered && binary.getOperator() == J.Binary.Type.And) {
-                            additionalContext = binary;
-                        } else {
-                            flowScopeBreakEncountered = true;
-                        }
-                    } else if (value instanceof J.Unary && ((J.Unary) value).getOperator() == J.Unary.Type.Not) {
-                        // TODO this could be improved (the pattern variable may be applicable in the else case
-                        // or even in subsequent statements (due to the flow scope semantics)
-                        flowScopeBreakEncountered = true;
-                    } else if (value instanceof Statement) {
-                        maybeReplacementRoot = next;
-                        break;
-                    }
-                }
-
-                if (maybeReplacementRoot != null) {
-                    J root = maybeReplacementRoot.getValue();
+                FlowScope scope = flowScopes.peek();
+                if (scope != null && scope.statement != null) {
+                    J root = scope.statement.cursor.getValue();
                     Set<J> contexts = new HashSet<>();
-                    if (!flowScopeBreakEncountered) {
+                    if (!scope.flowScopeBreakEncountered) {
                         if (root instanceof J.If) {
                             contexts.add(((J.If) root).getThenPart());
                         } else if (root instanceof J.Ternary) {
                             contexts.add(((J.Ternary) root).getTruePart());
                         }
                     }
-                    if (additionalContext != null) {
-                        contexts.add(additionalContext);
+                    if (scope.additionalContext != null) {
+                        contexts.add(scope.additionalContext);
                     }
 
                     if (!contexts.isEmpty()) {
-                        InstanceOfPatternReplacements replacements = maybeReplacementRoot
-                                .computeMessageIfAbsent("flowTypeScope", k -> new InstanceOfPatternReplacements(root));
-                        replacements.registerInstanceOf(instanceOf, contexts);
+                        if (scope.statement.replacements == null) {
+                            scope.statement.replacements = new InstanceOfPatternReplacements(root);
+                        }
+                        scope.statement.replacements.registerInstanceOf(instanceOf, contexts);
                     }
                 }
                 return instanceOf;
@@ -142,8 +144,10 @@ public class InstanceOfPatternMatch extends Recipe {
             @Override
             public J visitTypeCast(J.TypeCast typeCast, ExecutionContext ctx) {
                 J result = super.visitTypeCast(typeCast, ctx);
-                if (result instanceof J.TypeCast) {
-                    InstanceOfPatternReplacements replacements = getCursor().getNearestMessage("flowTypeScope");
+                FlowScope scope = flowScopes.peek();
+                if (result instanceof J.TypeCast && scope != null && scope.statement != null) {
+                    InstanceOfPatternReplacements replacements = scope.statement.replacements != null ?
+                            scope.statement.replacements : scope.statement.enclosingReplacements;
                     if (replacements != null) {
                         replacements.registerTypeCast((J.TypeCast) result, getCursor());
                     }
@@ -153,6 +157,72 @@ public class InstanceOfPatternMatch extends Recipe {
         });
     }
 
+    /**
+     * What an {@code instanceof} needs to know about the trees between it and the statement it is part of, which
+     * is the same for all trees between two statements, binary operators or negations. It is derived from the
+     * flow scope of the parent when a tree is entered, so it doesn't take a walk up the cursor path to find.
+     */
+    @RequiredArgsConstructor
+    private static class FlowScope {
+        /**
+         * The nearest enclosing statement, or null outside of any statement.
+         */
+        final @Nullable StatementScope statement;
+
+        /**
+         * Whether a negation, or a binary operator other than {@code &&}, is in between.
+         */
+        final boolean flowScopeBreakEncountered;
+
+        /**
+         * The outermost {@code &&} in between that is not separated from the tree by a break in the flow scope.
+         */
+        final J.@Nullable Binary additionalContext;
+
+        /**
+         * The names of the pattern variables introduced in the enclosing method or class.
+         */
+        final Set<String> introducedNames;
+
+        FlowScope enter(J tree, Cursor cursor) {
+            if (tree instanceof J.Binary) {
+                J.Binary binary = (J.Binary) tree;
+                if (binary.getOperator() != J.Binary.Type.And) {
+                    return new FlowScope(statement, true, null, introducedNames);
+                }
+                return additionalContext == null ? new FlowScope(statement, flowScopeBreakEncountered, binary, introducedNames) : this;
+            } else if (tree instanceof J.Unary && ((J.Unary) tree).getOperator() == J.Unary.Type.Not) {
+                // TODO this could be improved (the pattern variable may be applicable in the else case
+                // or even in subsequent statements (due to the flow scope semantics)
+                return new FlowScope(statement, true, null, introducedNames);
+            }
+            boolean declaresNames = tree instanceof J.MethodDeclaration || tree instanceof J.ClassDeclaration;
+            if (tree instanceof Statement) {
+                InstanceOfPatternReplacements enclosingReplacements = statement == null ? null :
+                        statement.replacements != null ? statement.replacements : statement.enclosingReplacements;
+                return new FlowScope(new StatementScope(cursor, enclosingReplacements), false, null,
+                        declaresNames ? new HashSet<>() : introducedNames);
+            } else if (tree instanceof JavaSourceFile) {
+                return new FlowScope(null, false, null, new HashSet<>());
+            }
+            return this;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class StatementScope {
+        final Cursor cursor;
+
+        /**
+         * The replacements of the nearest enclosing statement that has any. An enclosing statement can't register
+         * an {@code instanceof} while this one is being visited, so they are known when this one is entered.
+         */
+        final @Nullable InstanceOfPatternReplacements enclosingReplacements;
+
+        @Nullable
+        InstanceOfPatternReplacements replacements;
+    }
+
     @Data
     private static class ExpressionAndType {
         private final Expression expression;
@@ -16,10 +16,17 @@
 package org.openrewrite.staticanalysis;
 
 import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
 
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
@@ -27,6 +34,10 @@ import static org.openrewrite.Tree.randomId;
 
 final class JavaElementFactory {
 
+    private static final String QUALIFIED_ANNOTATIONS_KEY = "org.openrewrite.staticanalysis.QUALIFIED_ANNOTATIONS";
+    private static final String SIMPLE_ANNOTATIONS_KEY = "org.openrewrite.staticanalysis.SIMPLE_ANNOTATIONS";
+    private static final Comparator<J.Annotation> BY_SIMPLE_NAME = Comparator.comparing(J.Annotation::getSimpleName);
+
     static J.Binary newLogicalExpression(J.Binary.Type operator, Expression left, Expression right) {
         return new J.Binary(
                 randomId(),
@@ -187,4 +198,156 @@ final class JavaElementFactory {
     public static J.Identifier newThis(JavaType type) {
         return new J.Identifier(randomId(), Space.EMPTY, Markers.EMPTY, emptyList(), "this", type, null);
     }
+
+    /**
+     * A static field referenced through the simple name of its declaring type, like {@code RoundingMode.UP}.
+     *
+     * @param type The type of the field, which is also the type of the expression.
+     */
+    static J.FieldAccess newStaticFieldAccess(JavaType.FullyQualified owner, String name, JavaType type) {
+        JavaType.Variable fieldType = null;
+        for (JavaType.Variable member : owner.getMembers()) {
+            if (name.equals(member.getName())) {
+                fieldType = member;
+                break;
+            }
+        }
+        if (fieldType == null) {
+            fieldType = new JavaType.Variable(null, Flag.Public.getBitMask() | Flag.Static.getBitMask() | Flag.Final.getBitMask(),
+                    name, owner, type, emptyList());
+        }
+        return new J.FieldAccess(
+                randomId(),
+                Space.EMPTY,
+                Markers.EMPTY,
+                className(owner, false),
+                new JLeftPadded<>(Space.EMPTY, new J.Identifier(randomId(), Space.EMPTY, Markers.EMPTY, emptyList(), name, type, fieldType), Markers.EMPTY),
+                type
+        );
+    }
+
+    /**
+     * A constructor without parameters and with an empty body. It is left unformatted, for the caller to format
+     * once it has been added to the class body.
+     *
+     * @param visibility {@link J.Modifier.Type#Public}, {@link J.Modifier.Type#Protected} or
+     *                   {@link J.Modifier.Type#Private}.
+     */
+    static J.MethodDeclaration newNoArgsConstructor(J.ClassDeclaration classDecl, J.Modifier.Type visibility) {
+        JavaType.FullyQualified type = classDecl.getType();
+        JavaType.Method methodType = type == null ? null : new JavaType.Method(
+                null,
+                Flag.valueOf(visibility.name()).getBitMask(),
+                type,
+                "<constructor>",
+                type,
+                emptyList(),
+                emptyList(),
+                emptyList(),
+                emptyList(),
+                null,
+                null
+        );
+        return new J.MethodDeclaration(
+                randomId(),
+                Space.EMPTY,
+                Markers.EMPTY,
+                emptyList(),
+                singletonList(new J.Modifier(randomId(), Space.EMPTY, Markers.EMPTY, null, visibility, emptyList())),
+                null,
+                null,
+                new J.MethodDeclaration.IdentifierWithAnnotations(
+                        new J.Identifier(randomId(), Space.SINGLE_SPACE, Markers.EMPTY, emptyList(), classDecl.getSimpleName(), methodType, null),
+                        emptyList()
+                ),
+                JContainer.build(Space.EMPTY, singletonList(JRightPadded.build(new J.Empty(randomId(), Space.EMPTY, Markers.EMPTY))), Markers.EMPTY),
+                null,
+                new J.Block(randomId(), Space.SINGLE_SPACE, Markers.EMPTY, JRightPadded.build(false), emptyList(), Space.format("\n")),
+                null,
+                methodType
+        );
+    }
+
+    /**
+     * An annotation without arguments. The tree is built once per annotation type and copied with new ids,
+     * which is much cheaper than compiling the annotation through a {@code JavaTemplate} for every declaration.
+     *
+     * @param qualified Whether the annotation type is referenced by its fully qualified name, to be shortened
+     *                  afterwards by {@link ShortenFullyQualifiedTypeReferences}.
+     */
+    static J.Annotation newAnnotation(String fullyQualifiedName, boolean qualified, ExecutionContext ctx) {
+        // Built once per run, rather than kept for the life of the class loader
+        J.Annotation annotation = ctx.<Map<String, J.Annotation>>computeMessageIfAbsent(
+                        qualified ? QUALIFIED_ANNOTATIONS_KEY : SIMPLE_ANNOTATIONS_KEY, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(fullyQualifiedName, fqn -> new J.Annotation(
+                        randomId(),
+                        Space.EMPTY,
+                        Markers.EMPTY,
+                        (NameTree) className(JavaType.ShallowClass.build(fqn), qualified),
+                        null
+                ));
+        return (J.Annotation) new JavaVisitor<Integer>() {
+            @Override
+            public J preVisit(J tree, Integer p) {
+                return tree.withId(randomId());
+            }
+        }.visitNonNull(annotation, 0);
+    }
+
+    /**
+     * Adds an annotation to a method declaration in the order of the simple names of its annotations, on a line of
+     * its own.
+     */
+    static J.MethodDeclaration addAnnotation(J.MethodDeclaration method, J.Annotation annotation) {
+        List<J.Annotation> annotations = method.getLeadingAnnotations();
+        int index = insertionIndex(annotations, annotation);
+        Space separator = Space.format("\n" + method.getPrefix().getIndent());
+        if (index > 0) {
+            return method.withLeadingAnnotations(ListUtils.insert(annotations, annotation.withPrefix(separator), index));
+        }
+
+        // The annotation takes the place of what the declaration started with, which moves to the next line
+        J.MethodDeclaration m = method.withLeadingAnnotations(ListUtils.insert(annotations, annotation.withPrefix(Space.EMPTY), 0));
+        if (!annotations.isEmpty()) {
+            return m.withLeadingAnnotations(ListUtils.map(m.getLeadingAnnotations(), (i, a) -> i == 1 ? a.withPrefix(separator) : a));
+        } else if (!m.getModifiers().isEmpty()) {
+            return m.withModifiers(ListUtils.mapFirst(m.getModifiers(), mod -> mod.withPrefix(separator)));
+        } else if (m.getPadding().getTypeParameters() != null) {
+            return m.getPadding().withTypeParameters(m.getPadding().getTypeParameters().withPrefix(separator));
+        } else if (m.getReturnTypeExpression() != null) {
+            return m.withReturnTypeExpression(m.getReturnTypeExpression().withPrefix(separator));
+        }
+        return m.withName(m.getName().withPrefix(separator));
+    }
+
+    /**
+     * Adds an annotation to a variable declaration, such as a method parameter, in the order of the simple names
+     * of its annotations, on the same line as the declaration.
+     */
+    static J.VariableDeclarations addAnnotation(J.VariableDeclarations variable, J.Annotation annotation) {
+        List<J.Annotation> annotations = variable.getLeadingAnnotations();
+        int index = insertionIndex(annotations, annotation);
+        if (index > 0) {
+            return variable.withLeadingAnnotations(ListUtils.insert(annotations, annotation.withPrefix(Space.SINGLE_SPACE), index));
+        }
+
+        J.VariableDeclarations v = variable.withLeadingAnnotations(ListUtils.insert(annotations, annotation.withPrefix(Space.EMPTY), 0));
+        if (!annotations.isEmpty()) {
+            return v.withLeadingAnnotations(ListUtils.map(v.getLeadingAnnotations(), (i, a) -> i == 1 ? a.withPrefix(Space.SINGLE_SPACE) : a));
+        } else if (!v.getModifiers().isEmpty()) {
+            return v.withModifiers(ListUtils.mapFirst(v.getModifiers(), mod -> mod.withPrefix(Space.SINGLE_SPACE)));
+        } else if (v.getTypeExpression() != null) {
+            return v.withTypeExpression(v.getTypeExpression().withPrefix(Space.SINGLE_SPACE));
+        }
+        return v;
+    }
+
+    private static int insertionIndex(List<J.Annotation> annotations, J.Annotation annotation) {
+        for (int i = 0; i < annotations.size(); i++) {
+            if (BY_SIMPLE_NAME.compare(annotation, annotations.get(i)) < 0) {
+                return i;
+            }
+        }
+        return annotations.size();
+    }
 }
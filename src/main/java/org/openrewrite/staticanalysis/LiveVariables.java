@@ -0,0 +1,293 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.analysis.controlflow.ControlFlow;
+import org.openrewrite.analysis.controlflow.ControlFlowNode;
+import org.openrewrite.analysis.controlflow.ControlFlowSummary;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+import static java.util.Collections.emptySet;
+
+/**
+ * A backward liveness analysis of the local variables of a method body over its control flow graph, which finds the
+ * assignments whose value is never read.
+ * <p>
+ * Variables are tracked by name. Java forbids a local from shadowing another local, and every read of a local is
+ * preceded by its declaration, which ends the liveness of any earlier variable of the same name, so two variables that
+ * share a name can not be mistaken for one another.
+ */
+final class LiveVariables {
+    private final Set<J.Assignment> candidates = newIdentitySet();
+    private final Set<J.Identifier> reads = newIdentitySet();
+    private final Set<J.Identifier> coveredReads = newIdentitySet();
+    private final Set<String> tracked = new HashSet<>();
+
+    private LiveVariables() {
+    }
+
+    /**
+     * @param body      The cursor of a method body.
+     * @param removable Whether an assignment to a local, sitting directly in a block, may be removed if its value is never read.
+     * @return the removable assignments whose value is never read, or nothing if the control flow of the method body
+     * can not be analyzed.
+     */
+    static Set<J.Assignment> findDeadStores(Cursor body, Predicate<J.Assignment> removable) {
+        LiveVariables liveVariables = new LiveVariables();
+        Set<String> readWhenThrown = new HashSet<>();
+        new Collector(liveVariables, removable, readWhenThrown).visit(body.getValue(), 0, body.getParentOrThrow());
+        // Exceptional control flow is not part of the graph, so a variable read in a catch or finally block stays live
+        liveVariables.candidates.removeIf(a -> readWhenThrown.contains(((J.Identifier) a.getVariable()).getSimpleName()));
+        if (liveVariables.candidates.isEmpty()) {
+            return emptySet();
+        }
+        for (J.Assignment candidate : liveVariables.candidates) {
+            liveVariables.tracked.add(((J.Identifier) candidate.getVariable()).getSimpleName());
+        }
+
+        Optional<ControlFlowSummary> controlFlow;
+        try {
+            controlFlow = ControlFlow.startingAt(body).findControlFlow();
+        } catch (RuntimeException e) {
+            // Constructs the control flow analysis does not support
+            return emptySet();
+        }
+        return controlFlow.map(liveVariables::findDeadStores).orElse(emptySet());
+    }
+
+    private Set<J.Assignment> findDeadStores(ControlFlowSummary controlFlow) {
+        List<ControlFlowNode> nodes = new ArrayList<>();
+        Map<ControlFlowNode, List<ControlFlowNode>> predecessors = new IdentityHashMap<>();
+        Set<ControlFlowNode> seen = newIdentitySet();
+        Deque<ControlFlowNode> reachable = new ArrayDeque<>();
+        reachable.add(controlFlow.getStart());
+        seen.add(controlFlow.getStart());
+        while (!reachable.isEmpty()) {
+            ControlFlowNode node = reachable.poll();
+            nodes.add(node);
+            for (ControlFlowNode successor : node.getSuccessors()) {
+                predecessors.computeIfAbsent(successor, k -> new ArrayList<>()).add(node);
+                if (seen.add(successor)) {
+                    reachable.add(successor);
+                }
+            }
+        }
+
+        // Iterate to a fixed point, visiting nodes closest to the end of the method first
+        Map<ControlFlowNode, Set<String>> liveIn = new IdentityHashMap<>();
+        Deque<ControlFlowNode> worklist = new ArrayDeque<>(nodes.size());
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            worklist.add(nodes.get(i));
+        }
+        Set<ControlFlowNode> queued = newIdentitySet();
+        queued.addAll(nodes);
+        while (!worklist.isEmpty()) {
+            ControlFlowNode node = worklist.poll();
+            queued.remove(node);
+            Set<String> live = liveOut(node, liveIn);
+            transfer(node, live, null);
+            Set<String> previous = liveIn.put(node, live);
+            if (previous == null || !previous.equals(live)) {
+                for (ControlFlowNode predecessor : predecessors.getOrDefault(node, Collections.emptyList())) {
+                    if (queued.add(predecessor)) {
+                        worklist.add(predecessor);
+                    }
+                }
+            }
+        }
+
+        for (J.Identifier read : reads) {
+            if (tracked.contains(read.getSimpleName()) && !coveredReads.contains(read)) {
+                // A read that is not part of the graph could keep any store alive
+                return emptySet();
+            }
+        }
+
+        Set<J.Assignment> deadStores = newIdentitySet();
+        for (ControlFlowNode node : nodes) {
+            transfer(node, liveOut(node, liveIn), deadStores);
+        }
+        return deadStores;
+    }
+
+    private static Set<String> liveOut(ControlFlowNode node, Map<ControlFlowNode, Set<String>> liveIn) {
+        Set<String> live = new HashSet<>();
+        for (ControlFlowNode successor : node.getSuccessors()) {
+            Set<String> successorLive = liveIn.get(successor);
+            if (successorLive != null) {
+                live.addAll(successorLive);
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Turns the variables live after a node into those live before it.
+     *
+     * @param deadStores The set to add assignments whose value is not live to, or null while iterating.
+     */
+    private void transfer(ControlFlowNode node, Set<String> live, @Nullable Set<J.Assignment> deadStores) {
+        if (!(node instanceof ControlFlowNode.BasicBlock)) {
+            return;
+        }
+        List<? extends J> values = ((ControlFlowNode.BasicBlock) node).getNodeValues();
+        for (int i = values.size() - 1; i >= 0; i--) {
+            J value = values.get(i);
+            if (value instanceof J.Assignment && ((J.Assignment) value).getVariable() instanceof J.Identifier) {
+                J.Assignment assignment = (J.Assignment) value;
+                String name = ((J.Identifier) assignment.getVariable()).getSimpleName();
+                if (deadStores != null && !live.contains(name) && candidates.contains(assignment)) {
+                    deadStores.add(assignment);
+                }
+                live.remove(name);
+                // The assigned value is read before the assignment, wherever the graph lists its parts
+                addReads(assignment.getAssignment(), live);
+            } else if (value instanceof J.VariableDeclarations) {
+                for (J.VariableDeclarations.NamedVariable variable : ((J.VariableDeclarations) value).getVariables()) {
+                    live.remove(variable.getSimpleName());
+                }
+                for (J.VariableDeclarations.NamedVariable variable : ((J.VariableDeclarations) value).getVariables()) {
+                    addReads(variable.getInitializer(), live);
+                }
+            } else if (value instanceof J.VariableDeclarations.NamedVariable) {
+                J.VariableDeclarations.NamedVariable variable = (J.VariableDeclarations.NamedVariable) value;
+                live.remove(variable.getSimpleName());
+                addReads(variable.getInitializer(), live);
+            } else if (value instanceof J.Identifier) {
+                addRead((J.Identifier) value, live);
+            } else if (value instanceof J.Lambda || value instanceof J.NewClass ||
+                       value instanceof J.ClassDeclaration || value instanceof J.MemberReference) {
+                // Their bodies may not be part of the graph
+                addReads(value, live);
+            }
+        }
+    }
+
+    private void addReads(@Nullable J tree, Set<String> live) {
+        if (tree == null) {
+            return;
+        }
+        new JavaIsoVisitor<Set<String>>() {
+            @Override
+            public J.Identifier visitIdentifier(J.Identifier identifier, Set<String> l) {
+                addRead(identifier, l);
+                return identifier;
+            }
+        }.visit(tree, live);
+    }
+
+    private void addRead(J.Identifier identifier, Set<String> live) {
+        if (reads.contains(identifier) && tracked.contains(identifier.getSimpleName())) {
+            live.add(identifier.getSimpleName());
+            coveredReads.add(identifier);
+        }
+    }
+
+    private static <T> Set<T> newIdentitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    private static class Collector extends JavaIsoVisitor<Integer> {
+        private final LiveVariables liveVariables;
+        private final Predicate<J.Assignment> removable;
+        private final Set<String> readWhenThrown;
+        private int exceptionalDepth;
+
+        Collector(LiveVariables liveVariables, Predicate<J.Assignment> removable, Set<String> readWhenThrown) {
+            this.liveVariables = liveVariables;
+            this.removable = removable;
+            this.readWhenThrown = readWhenThrown;
+        }
+
+        @Override
+        public J.Identifier visitIdentifier(J.Identifier identifier, Integer p) {
+            if (VariableReferences.isRhsValue(getCursor())) {
+                addRead(identifier);
+            }
+            return super.visitIdentifier(identifier, p);
+        }
+
+        @Override
+        public J.Assignment visitAssignment(J.Assignment assignment, Integer p) {
+            if (assignment.getVariable() instanceof J.Identifier) {
+                JavaType.Variable variable = ((J.Identifier) assignment.getVariable()).getFieldType();
+                // Only a local or parameter, and only a store whose removal leaves a well-formed block
+                if (variable != null && variable.getOwner() instanceof JavaType.Method &&
+                    getCursor().getParentTreeCursor().getValue() instanceof J.Block &&
+                    removable.test(assignment)) {
+                    liveVariables.candidates.add(assignment);
+                }
+            }
+            return super.visitAssignment(assignment, p);
+        }
+
+        @Override
+        public J.AssignmentOperation visitAssignmentOperation(J.AssignmentOperation assignOp, Integer p) {
+            if (assignOp.getVariable() instanceof J.Identifier) {
+                addRead((J.Identifier) assignOp.getVariable());
+            }
+            return super.visitAssignmentOperation(assignOp, p);
+        }
+
+        @Override
+        public J.Unary visitUnary(J.Unary unary, Integer p) {
+            if (unary.getOperator().isModifying() && unary.getExpression() instanceof J.Identifier) {
+                addRead((J.Identifier) unary.getExpression());
+            }
+            return super.visitUnary(unary, p);
+        }
+
+        @Override
+        public J.Try.Catch visitCatch(J.Try.Catch _catch, Integer p) {
+            exceptionalDepth++;
+            try {
+                return super.visitCatch(_catch, p);
+            } finally {
+                exceptionalDepth--;
+            }
+        }
+
+        @Override
+        public J.Block visitBlock(J.Block block, Integer p) {
+            Object parent = getCursor().getParentTreeCursor().getValue();
+            boolean finallyBlock = parent instanceof J.Try && ((J.Try) parent).getFinally() == block;
+            if (finallyBlock) {
+                exceptionalDepth++;
+            }
+            try {
+                return super.visitBlock(block, p);
+            } finally {
+                if (finallyBlock) {
+                    exceptionalDepth--;
+                }
+            }
+        }
+
+        private void addRead(J.Identifier identifier) {
+            liveVariables.reads.add(identifier);
+            if (exceptionalDepth > 0) {
+                readWhenThrown.add(identifier.getSimpleName());
+            }
+        }
+    }
+}
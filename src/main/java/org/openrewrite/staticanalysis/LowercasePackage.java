@@ -23,9 +23,9 @@ import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaSourceFile;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Collections.singleton;
 import static java.util.Objects.requireNonNull;
@@ -45,7 +45,8 @@ public class LowercasePackage extends ScanningRecipe<Map<String, String>> {
 
     @Override
     public Map<String, String> getInitialValue(ExecutionContext ctx) {
-        return new HashMap<>();
+        // Source files may be scanned on several threads
+        return new ConcurrentHashMap<>();
     }
 
     @Override
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.config.Environment;
+import org.openrewrite.staticanalysis.table.RecipePerformance;
+import org.openrewrite.staticanalysis.table.RecipePerformanceSummary;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.joining;
+
+@EqualsAndHashCode(callSuper = false)
+@Value
+public class MeasureRecipePerformance extends ScanningRecipe<MeasureRecipePerformance.Accumulator> {
+
+    @Option(displayName = "Recipe",
+            description = "The fully qualified name of the recipe to measure. Each recipe in the recipe list of a " +
+                    "composite recipe is measured separately.",
+            example = "org.openrewrite.staticanalysis.CommonStaticAnalysis")
+    String recipeName;
+
+    @Option(displayName = "Slowest source files",
+            description = "The number of slowest source files to list for each recipe. Default 10.",
+            required = false,
+            example = "10")
+    @Nullable
+    Integer slowestSourceFiles;
+
+    transient RecipePerformance performance = new RecipePerformance(this);
+    transient RecipePerformanceSummary performanceSummary = new RecipePerformanceSummary(this);
+
+    String displayName = "Measure recipe performance";
+
+    String description = "Runs the visitor of each recipe in a recipe list on every source file in isolation, and records " +
+            "its wall time, CPU time, allocated bytes, the number of nodes in the source file and the number of changes. " +
+            "Changes are measured but never applied. Recipes that scan the repository before editing are not measured.";
+
+    @Override
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        List<Recipe> recipes = new ArrayList<>();
+        addLeafRecipes(Environment.builder().scanRuntimeClasspath().build().activateRecipes(recipeName), recipes);
+        return new Accumulator(recipes);
+    }
+
+    private static void addLeafRecipes(Recipe recipe, List<Recipe> leaves) {
+        if (recipe.getRecipeList().isEmpty()) {
+            if (!(recipe instanceof ScanningRecipe)) {
+                leaves.add(recipe);
+            }
+        } else {
+            for (Recipe child : recipe.getRecipeList()) {
+                addLeafRecipes(child, leaves);
+            }
+        }
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                // Later cycles would measure the same source files again
+                if (tree instanceof SourceFile && !acc.summarized) {
+                    SourceFile sourceFile = (SourceFile) tree;
+                    Set<Tree> nodes = Collections.newSetFromMap(new IdentityHashMap<>());
+                    collectNodes(sourceFile, nodes);
+                    for (Recipe recipe : acc.recipes) {
+                        measure(recipe, sourceFile, nodes, acc, ctx);
+                    }
+                }
+                return tree;
+            }
+        };
+    }
+
+    private void measure(Recipe recipe, SourceFile sourceFile, Set<Tree> nodes, Accumulator acc, ExecutionContext ctx) {
+        // A separate context keeps the measured recipe from adding rows to its own data tables
+        ExecutionContext measureCtx = new InMemoryExecutionContext(ctx.getOnError());
+        TreeVisitor<?, ExecutionContext> visitor = recipe.getVisitor();
+        if (!visitor.isAcceptable(sourceFile, measureCtx)) {
+            return;
+        }
+
+        Tree after;
+        long cpuBefore = cpuTime();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            after = visitor.visit(sourceFile, measureCtx);
+        } catch (RuntimeException e) {
+            ctx.getOnError().accept(e);
+            return;
+        }
+        long wallTime = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+        long cpuAfter = cpuTime();
+
+        int changes = 0;
+        if (after != null && after != sourceFile) {
+            Set<Tree> afterNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+            collectNodes(after, afterNodes);
+            for (Tree node : afterNodes) {
+                if (!nodes.contains(node)) {
+                    changes++;
+                }
+            }
+        }
+
+        RecipePerformance.Row row = new RecipePerformance.Row(
+                recipe.getName(),
+                sourceFile.getSourcePath().toString(),
+                wallTime,
+                cpuBefore < 0 ? -1 : cpuAfter - cpuBefore,
+                allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore,
+                nodes.size(),
+                changes);
+        performance.insertRow(ctx, row);
+        acc.rows.computeIfAbsent(recipe.getName(), k -> new ArrayList<>()).add(row);
+    }
+
+    private static void collectNodes(Tree tree, Set<Tree> nodes) {
+        new TreeVisitor<Tree, Set<Tree>>() {
+            @Override
+            public Tree preVisit(Tree tree, Set<Tree> n) {
+                n.add(tree);
+                return tree;
+            }
+        }.visit(tree, nodes);
+    }
+
+    private static long cpuTime() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        return threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean &&
+                ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    @Override
+    public Collection<? extends SourceFile> generate(Accumulator acc, ExecutionContext ctx) {
+        if (!acc.summarized) {
+            acc.summarized = true;
+            int slowest = slowestSourceFiles == null ? 10 : slowestSourceFiles;
+            for (Map.Entry<String, List<RecipePerformance.Row>> entry : acc.rows.entrySet()) {
+                List<RecipePerformance.Row> rows = entry.getValue();
+                rows.sort(Comparator.comparingLong(RecipePerformance.Row::getWallTimeNanos).reversed());
+                long total = 0;
+                for (RecipePerformance.Row row : rows) {
+                    total += row.getWallTimeNanos();
+                }
+                performanceSummary.insertRow(ctx, new RecipePerformanceSummary.Row(
+                        entry.getKey(),
+                        rows.size(),
+                        total,
+                        percentile(rows, 0.5),
+                        percentile(rows, 0.99),
+                        rows.get(0).getWallTimeNanos(),
+                        slowest <= 0 ? null : rows.stream()
+                                .limit(slowest)
+                                .map(RecipePerformance.Row::getSourcePath)
+                                .collect(joining(", "))));
+            }
+        }
+        return emptyList();
+    }
+
+    /**
+     * @param rows Rows sorted from the slowest to the fastest.
+     * @return the nearest-rank percentile of the wall time.
+     */
+    private static long percentile(List<RecipePerformance.Row> rows, double percentile) {
+        int rank = (int) Math.ceil(percentile * rows.size());
+        return rows.get(rows.size() - Math.max(rank, 1)).getWallTimeNanos();
+    }
+
+    public static class Accumulator {
+        final List<Recipe> recipes;
+        final Map<String, List<RecipePerformance.Row>> rows = new LinkedHashMap<>();
+        boolean summarized;
+
+        Accumulator(List<Recipe> recipes) {
+            this.recipes = recipes;
+        }
+    }
+}
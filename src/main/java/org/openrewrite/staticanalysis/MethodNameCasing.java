@@ -16,6 +16,7 @@
 package org.openrewrite.staticanalysis;
 
 import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
@@ -33,11 +34,12 @@ import org.openrewrite.java.tree.TypeUtils;
 
 import java.util.*;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singleton;
 
 @EqualsAndHashCode(callSuper = false)
 @Value
-public class MethodNameCasing extends ScanningRecipe<List<MethodNameCasing.MethodNameChange>> {
+public class MethodNameCasing extends ScanningRecipe<MethodNameCasing.Accumulator> {
 
     @Option(displayName = "Apply recipe to test source set",
             description = "Changes only apply to main by default. `includeTestSources` will apply the recipe to `test` source files.",
@@ -62,13 +64,18 @@ public class MethodNameCasing extends ScanningRecipe<List<MethodNameCasing.Metho
 
     Set<String> tags = singleton("RSPEC-S100");
 
+    private static final Comparator<MethodNameChange> ORDER = Comparator
+            .comparing((MethodNameChange change) -> change.getRecipe().getMethodPattern())
+            .thenComparing(change -> change.getRecipe().getNewMethodName())
+            .thenComparing(MethodNameChange::getScope);
+
     @Override
-    public List<MethodNameChange> getInitialValue(ExecutionContext ctx) {
-        return new ArrayList<>();
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        return new Accumulator();
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getScanner(List<MethodNameChange> changes) {
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
         return new JavaIsoVisitor<ExecutionContext>() {
             UUID scope;
 
@@ -105,7 +112,7 @@ public class MethodNameCasing extends ScanningRecipe<List<MethodNameCasing.Metho
                         !toName.equals(simpleName) &&
                         !StringUtils.isNumeric(toName) &&
                         !methodExists(method.getMethodType(), toName)) {
-                        changes.add(new MethodNameChange(
+                        acc.changes.add(new MethodNameChange(
                                 scope,
                                 method.hasModifier(J.Modifier.Type.Private),
                                 new ChangeMethodName(MethodMatcher.methodPattern(method), toName, false, false))
@@ -127,13 +134,13 @@ public class MethodNameCasing extends ScanningRecipe<List<MethodNameCasing.Metho
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getVisitor(List<MethodNameChange> changes) {
+    public TreeVisitor<?, ExecutionContext> getVisitor(Accumulator acc) {
         return new JavaIsoVisitor<ExecutionContext>() {
             @Override
             public J visit(@Nullable Tree tree, ExecutionContext ctx) {
                 if (tree instanceof JavaSourceFile) {
                     JavaSourceFile cu = (JavaSourceFile) tree;
-                    for (MethodNameChange nameChange : changes) {
+                    for (MethodNameChange nameChange : acc.findChanges(cu)) {
                         if (!nameChange.isPrivateMethod() || tree.getId().equals(nameChange.getScope())) {
                             cu = (JavaSourceFile) nameChange.getRecipe().getVisitor().visitNonNull(cu, ctx);
                         }
@@ -145,6 +152,95 @@ public class MethodNameCasing extends ScanningRecipe<List<MethodNameCasing.Metho
         };
     }
 
+    public static class Accumulator {
+        final ScanBuffer<MethodNameChange> changes = new ScanBuffer<>(ORDER);
+
+        /**
+         * The changes by the declaring type and name of the renamed method, so that a source file only has
+         * to be visited by the {@link ChangeMethodName} recipes of the methods it declares or refers to.
+         */
+        private volatile @Nullable Index index;
+
+        List<MethodNameChange> getChanges() {
+            return changes.getElements();
+        }
+
+        /**
+         * @return The changes of the methods that the source file declares, calls, references or imports,
+         * in the order in which they are applied.
+         */
+        List<MethodNameChange> findChanges(JavaSourceFile cu) {
+            Map<String, List<MethodNameChange>> byMethod = getIndex();
+            if (byMethod.isEmpty()) {
+                return emptyList();
+            }
+            Set<MethodNameChange> found = new TreeSet<>(ORDER);
+            new JavaIsoVisitor<Set<MethodNameChange>>() {
+                @Override
+                public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, Set<MethodNameChange> found) {
+                    find(method.getMethodType(), found);
+                    return super.visitMethodDeclaration(method, found);
+                }
+
+                @Override
+                public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Set<MethodNameChange> found) {
+                    find(method.getMethodType(), found);
+                    return super.visitMethodInvocation(method, found);
+                }
+
+                @Override
+                public J.MemberReference visitMemberReference(J.MemberReference memberRef, Set<MethodNameChange> found) {
+                    find(memberRef.getMethodType(), found);
+                    return super.visitMemberReference(memberRef, found);
+                }
+
+                @Override
+                public J.Import visitImport(J.Import anImport, Set<MethodNameChange> found) {
+                    JavaType.FullyQualified type = TypeUtils.asFullyQualified(anImport.getQualid().getTarget().getType());
+                    if (anImport.isStatic() && type != null) {
+                        found.addAll(byMethod.getOrDefault(key(type.getFullyQualifiedName(), anImport.getQualid().getSimpleName()), emptyList()));
+                    }
+                    return anImport;
+                }
+
+                private void find(JavaType.@Nullable Method methodType, Set<MethodNameChange> found) {
+                    if (methodType != null && methodType.getDeclaringType() != null) {
+                        found.addAll(byMethod.getOrDefault(key(methodType.getDeclaringType().getFullyQualifiedName(), methodType.getName()), emptyList()));
+                    }
+                }
+            }.visit(cu, found);
+            return new ArrayList<>(found);
+        }
+
+        private Map<String, List<MethodNameChange>> getIndex() {
+            List<MethodNameChange> elements = changes.getElements();
+            Index i = index;
+            // The changes are merged again when a later scan added to them, and the index is rebuilt with them
+            if (i == null || i.changes != elements) {
+                Map<String, List<MethodNameChange>> byMethod = new HashMap<>();
+                for (MethodNameChange change : elements) {
+                    // A method pattern is the declaring type, a space, the method name and its parameters
+                    String pattern = change.getRecipe().getMethodPattern();
+                    int space = pattern.indexOf(' ');
+                    byMethod.computeIfAbsent(key(pattern.substring(0, space), pattern.substring(space + 1, pattern.indexOf('('))),
+                            k -> new ArrayList<>()).add(change);
+                }
+                index = i = new Index(elements, byMethod);
+            }
+            return i.byMethod;
+        }
+
+        private static String key(String declaringType, String methodName) {
+            return declaringType + "#" + methodName;
+        }
+
+        @RequiredArgsConstructor
+        private static class Index {
+            final List<MethodNameChange> changes;
+            final Map<String, List<MethodNameChange>> byMethod;
+        }
+    }
+
     @Value
     public static class MethodNameChange {
         UUID scope;
@@ -21,13 +21,11 @@ import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
 import org.openrewrite.java.AnnotationMatcher;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.service.AnnotationService;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.TypeUtils;
 import org.openrewrite.kotlin.tree.K;
 
-import java.util.Comparator;
 import java.util.Set;
 
 import static java.util.Collections.singleton;
@@ -76,7 +74,7 @@ public class MissingOverrideAnnotation extends Recipe {
                     !(Boolean.TRUE.equals(ignoreAnonymousClassMethods) &&
                     getCursorToParentScope(getCursor()).getValue() instanceof J.NewClass)) {
 
-                method = JavaTemplate.apply("@Override", getCursor(), method.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)));
+                method = JavaElementFactory.addAnnotation(method, JavaElementFactory.newAnnotation("java.lang.Override", false, ctx));
             }
             return super.visitMethodDeclaration(method, ctx);
         }
@@ -30,7 +30,6 @@ import org.openrewrite.java.tree.Space;
 import org.openrewrite.java.tree.Statement;
 import org.openrewrite.kotlin.tree.K;
 import org.openrewrite.marker.Markers;
-import org.openrewrite.style.Style;
 
 import java.time.Duration;
 import java.util.ArrayList;
@@ -127,7 +126,7 @@ public class NeedBraces extends Recipe {
                 if (cu.getSourcePath().toString().endsWith(".py")) {
                     return (J) tree;
                 }
-                needBracesStyle = Style.from(NeedBracesStyle.class, cu, Checkstyle::needBracesStyle);
+                needBracesStyle = ResolvedStyles.from(NeedBracesStyle.class, cu, Checkstyle::needBracesStyle, ctx);
             }
             return super.visit(tree, ctx);
         }
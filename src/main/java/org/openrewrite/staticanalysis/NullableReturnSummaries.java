@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.*;
+
+/**
+ * The methods of a repository that may return null, for {@link AnnotateNullableMethods}. A method may return null
+ * when it is already annotated as nullable, when it returns null or the result of a library method known to return
+ * null, or when it returns the result of another method of the repository that may return null.
+ * <p>
+ * The last rule is solved over the calls between methods with a worklist. A method can only go from not returning
+ * null to returning null, so each method is queued at most once, no matter how long the call chains are.
+ */
+final class NullableReturnSummaries {
+    private final Map<String, Summary> summaries = new HashMap<>();
+    private boolean solved;
+
+    private static class Summary {
+        boolean nullable;
+
+        /**
+         * The methods whose result is returned, by {@link MethodMatcher#methodPattern(JavaType.Method)}.
+         */
+        final List<String> returnedCalls = new ArrayList<>();
+    }
+
+    void addNullable(JavaType.Method methodType) {
+        if (!solved) {
+            summaries.computeIfAbsent(MethodMatcher.methodPattern(methodType), k -> new Summary()).nullable = true;
+        }
+    }
+
+    void add(JavaType.Method methodType, boolean returnsNull, List<JavaType.Method> returnedCalls) {
+        if (solved) {
+            return;
+        }
+        Summary summary = summaries.computeIfAbsent(MethodMatcher.methodPattern(methodType), k -> new Summary());
+        summary.nullable |= returnsNull;
+        for (JavaType.Method call : returnedCalls) {
+            summary.returnedCalls.add(MethodMatcher.methodPattern(call));
+        }
+    }
+
+    boolean isNullable(JavaType.@Nullable Method methodType) {
+        if (methodType == null) {
+            return false;
+        }
+        solve();
+        Summary summary = summaries.get(MethodMatcher.methodPattern(methodType));
+        return summary != null && summary.nullable;
+    }
+
+    private void solve() {
+        if (solved) {
+            return;
+        }
+        solved = true;
+
+        Map<Summary, List<Summary>> callers = new IdentityHashMap<>();
+        Deque<Summary> worklist = new ArrayDeque<>();
+        for (Summary summary : summaries.values()) {
+            for (String call : summary.returnedCalls) {
+                Summary callee = summaries.get(call);
+                if (callee != null && callee != summary) {
+                    callers.computeIfAbsent(callee, k -> new ArrayList<>()).add(summary);
+                }
+            }
+            if (summary.nullable) {
+                worklist.add(summary);
+            }
+        }
+
+        while (!worklist.isEmpty()) {
+            for (Summary caller : callers.getOrDefault(worklist.poll(), Collections.emptyList())) {
+                if (!caller.nullable) {
+                    caller.nullable = true;
+                    worklist.add(caller);
+                }
+            }
+        }
+    }
+}
@@ -27,7 +27,6 @@ import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JRightPadded;
 import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.TypeTree;
-import org.openrewrite.style.Style;
 
 @EqualsAndHashCode(callSuper = false)
 @Value
@@ -54,7 +53,7 @@ public class OperatorWrap extends Recipe {
             public J visit(@Nullable Tree tree, ExecutionContext ctx) {
                 if (tree instanceof JavaSourceFile) {
                     SourceFile cu = (SourceFile) tree;
-                    operatorWrapStyle = Style.from(OperatorWrapStyle.class, cu, Checkstyle::operatorWrapStyle);
+                    operatorWrapStyle = ResolvedStyles.from(OperatorWrapStyle.class, cu, Checkstyle::operatorWrapStyle, ctx);
 
                     if (wrapOption != null) {
                         // Convenience override, to bypass having to configure a style once to change detected style
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.style.IntelliJ;
+import org.openrewrite.java.style.TabsAndIndentsStyle;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.nCopies;
+import static org.openrewrite.Tree.randomId;
+import static org.openrewrite.staticanalysis.ModifierOrder.sortModifiers;
+
+/**
+ * Formats only the whitespace around the tokens a recipe inserts or moves, instead of auto-formatting the whole
+ * tree that contains them. The rest of the tree keeps its formatting, so no style has to be detected or applied to
+ * it; the only style used is the indentation of an inserted statement that cannot be copied from a sibling.
+ */
+final class PrefixFormat {
+
+    private PrefixFormat() {
+    }
+
+    /**
+     * Appends a modifier to those of a variable declaration. The modifier takes over the prefix of the type, which
+     * is separated from it by a single space.
+     */
+    static J.VariableDeclarations addModifier(J.VariableDeclarations v, J.Modifier.Type type) {
+        TypeTree typeExpression = v.getTypeExpression();
+        if (typeExpression == null) {
+            Space prefix = v.getModifiers().isEmpty() && v.getLeadingAnnotations().isEmpty() ? Space.EMPTY : Space.SINGLE_SPACE;
+            return v.withModifiers(ListUtils.concat(v.getModifiers(), newModifier(type, prefix)));
+        }
+        return v.withModifiers(ListUtils.concat(v.getModifiers(), newModifier(type, typeExpression.getPrefix())))
+                .withTypeExpression(typeExpression.withPrefix(Space.SINGLE_SPACE));
+    }
+
+    /**
+     * Adds a modifier to those of a class declaration in the order of {@link ModifierOrder}. Since sorting reorders
+     * the types of the modifiers and not their prefixes, the last modifier takes over the prefix of the class kind,
+     * which is separated from it by a single space.
+     */
+    static J.ClassDeclaration addModifier(J.ClassDeclaration c, J.Modifier.Type type) {
+        J.ClassDeclaration.Kind kind = c.getPadding().getKind();
+        return c.withModifiers(sortModifiers(ListUtils.concat(c.getModifiers(), newModifier(type, kind.getPrefix()))))
+                .getPadding().withKind(kind.withPrefix(Space.SINGLE_SPACE));
+    }
+
+    /**
+     * The prefix of a statement appended to the given statements. It is the indentation of the last of them when it
+     * starts on its own line, and otherwise one level deeper than the closest enclosing tree that does.
+     *
+     * @param cursor The cursor of the tree that holds the statements.
+     * @param p      The parameter of the calling visitor, which the style of the indentation is resolved with.
+     */
+    static Space appendedStatementPrefix(List<? extends Statement> statements, Cursor cursor, @Nullable Object p) {
+        if (!statements.isEmpty()) {
+            String indent = indent(statements.get(statements.size() - 1).getPrefix());
+            if (indent != null) {
+                return Space.format("\n" + indent);
+            }
+        }
+        String indent = "";
+        for (Iterator<Object> path = cursor.getPath(); path.hasNext(); ) {
+            Object tree = path.next();
+            if (tree instanceof J) {
+                String enclosingIndent = indent(((J) tree).getPrefix());
+                if (enclosingIndent != null) {
+                    indent = enclosingIndent;
+                    break;
+                }
+            }
+        }
+        SourceFile sourceFile = cursor.firstEnclosing(SourceFile.class);
+        TabsAndIndentsStyle style = sourceFile == null ? IntelliJ.tabsAndIndents() :
+                ResolvedStyles.from(TabsAndIndentsStyle.class, sourceFile, IntelliJ::tabsAndIndents, p);
+        return Space.format("\n" + indent + (style.getUseTabCharacter() ? "\t" : String.join("", nCopies(style.getIndentSize(), " "))));
+    }
+
+    /**
+     * Moves a statement out of the block it is in and in front of the given tree, by replacing the indentation of
+     * the statement with that of the tree on all of its lines.
+     */
+    static <J2 extends J> J2 moveBefore(J2 statement, J tree) {
+        String from = indent(statement.getPrefix());
+        String to = indent(tree.getPrefix());
+        if (from == null || to == null) {
+            return statement.withPrefix(tree.getPrefix());
+        }
+        if (from.equals(to)) {
+            return statement;
+        }
+        //noinspection unchecked
+        return (J2) new JavaIsoVisitor<Integer>() {
+            @Override
+            public Space visitSpace(Space space, Space.Location loc, Integer p) {
+                return space.withWhitespace(reindent(space.getWhitespace(), from, to))
+                        .withComments(ListUtils.map(space.getComments(), comment -> {
+                            Comment c = comment.withSuffix(reindent(comment.getSuffix(), from, to));
+                            return c instanceof TextComment && c.isMultiline() ?
+                                    ((TextComment) c).withText(reindent(((TextComment) c).getText(), from, to)) : c;
+                        }));
+            }
+        }.visitNonNull(statement, 0);
+    }
+
+    private static J.Modifier newModifier(J.Modifier.Type type, Space prefix) {
+        return new J.Modifier(randomId(), prefix, Markers.EMPTY, null, type, emptyList());
+    }
+
+    /**
+     * @return The indentation of the line that a tree with this prefix starts on, or {@code null} when it does not
+     * start on a line of its own.
+     */
+    private static @Nullable String indent(Space prefix) {
+        List<Comment> comments = prefix.getComments();
+        String whitespace = comments.isEmpty() ? prefix.getWhitespace() : comments.get(comments.size() - 1).getSuffix();
+        int newline = whitespace.lastIndexOf('\n');
+        return newline < 0 ? null : whitespace.substring(newline + 1);
+    }
+
+    private static String reindent(String text, String from, String to) {
+        if (text.indexOf('\n') < 0) {
+            return text;
+        }
+        String[] lines = text.split("\n", -1);
+        StringBuilder reindented = new StringBuilder(lines[0]);
+        for (int i = 1; i < lines.length; i++) {
+            reindented.append('\n').append(lines[i].startsWith(from) ? to + lines[i].substring(from.length()) : lines[i]);
+        }
+        return reindented.toString();
+    }
+}
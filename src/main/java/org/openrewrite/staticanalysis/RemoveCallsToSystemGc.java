@@ -23,7 +23,7 @@ import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.staticanalysis.table.SourceFilesSkipped;
 import org.openrewrite.java.tree.J;
 
 import java.time.Duration;
@@ -33,8 +33,12 @@ import static java.util.Collections.singleton;
 
 public class RemoveCallsToSystemGc extends Recipe {
 
-    private static final MethodMatcher SYSTEM_GC = new MethodMatcher("java.lang.System gc()");
-    private static final MethodMatcher RUNTIME_GC = new MethodMatcher("java.lang.Runtime gc()");
+    private static final String SYSTEM_GC_PATTERN = "java.lang.System gc()";
+    private static final String RUNTIME_GC_PATTERN = "java.lang.Runtime gc()";
+    private static final MethodMatcher SYSTEM_GC = new MethodMatcher(SYSTEM_GC_PATTERN);
+    private static final MethodMatcher RUNTIME_GC = new MethodMatcher(RUNTIME_GC_PATTERN);
+
+    transient SourceFilesSkipped skipped = new SourceFilesSkipped(this);
 
     @Getter
     final String displayName = "Remove garbage collection invocations";
@@ -51,9 +55,14 @@ public class RemoveCallsToSystemGc extends Recipe {
     @Getter
     final Duration estimatedEffortPerOccurrence = Duration.ofMinutes(1);
 
+    @Override
+    public void onComplete(ExecutionContext ctx) {
+        UsesAnyMethod.recordSkippedSourceFiles(this, skipped, ctx);
+    }
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(Preconditions.or(new UsesMethod<>(SYSTEM_GC), new UsesMethod<>(RUNTIME_GC)), new JavaIsoVisitor<ExecutionContext>() {
+        return Preconditions.check(new UsesAnyMethod(this, SYSTEM_GC_PATTERN, RUNTIME_GC_PATTERN), new JavaIsoVisitor<ExecutionContext>() {
 
             @Override
             public  J.@Nullable MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
@@ -34,6 +34,7 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.util.Collections.singleton;
@@ -44,6 +45,8 @@ import static org.openrewrite.Preconditions.not;
 @SuppressWarnings("ConstantConditions")
 @Value
 public class RemoveUnusedLocalVariables extends Recipe {
+    private static final String DELETED_STATEMENTS_KEY = "DELETED_STATEMENTS";
+
     @Incubating(since = "7.17.2")
     @Option(displayName = "Ignore matching variable names",
             description = "An array of variable identifier names for local variables to ignore, even if the local variable is unused.",
@@ -124,6 +127,23 @@ public class RemoveUnusedLocalVariables extends Recipe {
                 );
             }
 
+            @Override
+            public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+                if (method.getBody() != null) {
+                    for (J.Assignment deadStore : LiveVariables.findDeadStores(new Cursor(getCursor(), method.getBody()), this::isRemovableStore)) {
+                        deleteFromEnclosingBlock(deadStore);
+                    }
+                }
+                return super.visitMethodDeclaration(method, ctx);
+            }
+
+            private boolean isRemovableStore(J.Assignment assignment) {
+                J.Identifier name = (J.Identifier) assignment.getVariable();
+                return (ignoreVariableNames == null || !ignoreVariableNames.contains(name.getSimpleName())) &&
+                       (withType == null || TypeUtils.isOfClassType(name.getType(), withType)) &&
+                       !mightSideEffect(assignment.getAssignment());
+            }
+
             @Override
             public J.InstanceOf visitInstanceOf(J.InstanceOf instanceOf, ExecutionContext ctx) {
                 return instanceOf;
@@ -169,14 +189,21 @@ public class RemoveUnusedLocalVariables extends Recipe {
                     return variable;
                 }
 
-                List<J> readReferences = VariableReferences.findRhsReferences(parentScope.getValue(), variable.getName());
+                DefUseIndex defUse = DefUseIndex.of(getCursor());
+                List<J> readReferences = defUse.findRhsReferences(variable.getName(), parent);
                 if (readReferences.isEmpty()) {
-                    List<Statement> assignmentReferences = VariableReferences.findLhsReferences(parentScope.getValue(), variable.getName());
+                    List<Statement> assignmentReferences = defUse.findLhsReferences(variable.getName(), parent);
                     for (Statement ref : assignmentReferences) {
+                        if (ref instanceof J.Assignment && mightSideEffect(((J.Assignment) ref).getAssignment())) {
+                            return variable;
+                        }
+                    }
+                    for (Statement ref : assignmentReferences) {
+                        if (defUse.findEnclosingBlock(ref) != null) {
+                            deleteFromEnclosingBlock(ref);
+                            continue;
+                        }
                         if (ref instanceof J.Assignment) {
-                            if (mightSideEffect(((J.Assignment) ref).getAssignment())) {
-                                return variable;
-                            }
                             doAfterVisit(new PruneAssignmentExpression((J.Assignment) ref));
                         }
                         doAfterVisit(new DeleteStatement<>(ref));
@@ -187,6 +214,26 @@ public class RemoveUnusedLocalVariables extends Recipe {
                 return super.visitVariable(variable, ctx);
             }
 
+            @Override
+            public J.Block visitBlock(J.Block block, ExecutionContext ctx) {
+                J.Block b = super.visitBlock(block, ctx);
+                Set<UUID> deleted = getCursor().getNearestMessage(DELETED_STATEMENTS_KEY);
+                if (deleted == null || deleted.isEmpty()) {
+                    return b;
+                }
+                return b.withStatements(ListUtils.map(b.getStatements(), s -> deleted.remove(s.getId()) ? null : s));
+            }
+
+            /**
+             * Statements that sit directly in a block are removed together when the traversal leaves that block,
+             * rather than by scheduling a {@link DeleteStatement} pass over the whole source file for each of them.
+             */
+            private void deleteFromEnclosingBlock(Statement statement) {
+                getCursor().dropParentUntil(is -> is instanceof JavaSourceFile || is == Cursor.ROOT_VALUE)
+                        .<Set<UUID>>computeMessageIfAbsent(DELETED_STATEMENTS_KEY, k -> new HashSet<>())
+                        .add(statement.getId());
+            }
+
             @Override
             public Statement visitStatement(Statement statement, ExecutionContext ctx) {
                 List<Comment> comments = getCursor().pollNearestMessage("COMMENTS_KEY");
@@ -207,7 +254,11 @@ public class RemoveUnusedLocalVariables extends Recipe {
                     if (!mv.getPrefix().getComments().isEmpty()) {
                         getCursor().dropParentUntil(J.ClassDeclaration.class::isInstance).putMessage("COMMENTS_KEY", mv.getPrefix().getComments());
                     }
-                    doAfterVisit(new DeleteStatement<>(mv));
+                    if (getCursor().getParentTreeCursor().getValue() instanceof J.Block) {
+                        deleteFromEnclosingBlock(mv);
+                    } else {
+                        doAfterVisit(new DeleteStatement<>(mv));
+                    }
                 }
                 return mv;
             }
@@ -58,6 +58,9 @@ public class RemoveUnusedPrivateFields extends Recipe {
 
             @Override
             public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+                if (DirtyRegionWorklist.isClean(getCursor())) {
+                    return classDecl;
+                }
                 J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
 
                 // Do not remove fields if class has Lombok @Data annotation
@@ -103,14 +106,15 @@ public class RemoveUnusedPrivateFields extends Recipe {
                         outer = parent.getValue();
                     }
                 }
+                List<J.VariableDeclarations> candidates = new ArrayList<>(checkFields.size());
+                for (CheckField checkField : checkFields) {
+                    candidates.add(checkField.declarations);
+                }
+                Set<J.VariableDeclarations.NamedVariable> unused = FieldUses.find(candidates, outer).findUnused();
                 for (CheckField checkField : checkFields) {
-                    // Find variable uses.
-                    Map<J.VariableDeclarations.NamedVariable, List<J.Identifier>> inUse =
-                            VariableUses.find(checkField.declarations, outer);
-                    for (Map.Entry<J.VariableDeclarations.NamedVariable, List<J.Identifier>> entry : inUse.entrySet()) {
-                        if (entry.getValue().isEmpty()) {
+                    for (J.VariableDeclarations.NamedVariable fieldToRemove : checkField.declarations.getVariables()) {
+                        if (unused.contains(fieldToRemove)) {
                             AtomicBoolean declarationDeleted = new AtomicBoolean();
-                            J.VariableDeclarations.NamedVariable fieldToRemove = entry.getKey();
                             cd = (J.ClassDeclaration) new RemoveUnusedField(fieldToRemove).visitNonNull(cd, declarationDeleted);
                             if (fieldToRemove.getType() != null) {
                                 maybeRemoveImport(fieldToRemove.getType().toString());
@@ -135,70 +139,113 @@ public class RemoveUnusedPrivateFields extends Recipe {
             }
 
         };
-        return Preconditions.check(new NoMissingTypes(), Repeat.repeatUntilStable(visitor));
+        return Preconditions.check(new NoMissingTypes(), DirtyRegionWorklist.repeatUntilStable(visitor, J.ClassDeclaration.class));
     }
 
-    private static class VariableUses {
-        public static Map<J.VariableDeclarations.NamedVariable, List<J.Identifier>> find(J.VariableDeclarations declarations, J.ClassDeclaration parent) {
-            Map<J.VariableDeclarations.NamedVariable, List<J.Identifier>> found = new IdentityHashMap<>(declarations.getVariables().size());
+    /**
+     * Uses of all candidate fields of a class, collected with a single traversal of the outermost class.
+     * Uses that sit in the initializer of another candidate field are tracked separately, so that fields which
+     * only become unused once that other field is removed are found without traversing the class again.
+     */
+    private static class FieldUses {
+        private final Map<J.VariableDeclarations.NamedVariable, Integer> useCounts = new IdentityHashMap<>();
+        private final Map<J.VariableDeclarations.NamedVariable, List<J.VariableDeclarations.NamedVariable>> usedByInitializer = new IdentityHashMap<>();
+
+        public static FieldUses find(List<J.VariableDeclarations> candidates, J.ClassDeclaration parent) {
+            FieldUses uses = new FieldUses();
+            Map<J.VariableDeclarations.NamedVariable, J.VariableDeclarations> declarationsOf = new IdentityHashMap<>();
             Map<String, J.VariableDeclarations.NamedVariable> signatureMap = new HashMap<>();
             Map<String, J.VariableDeclarations.NamedVariable> nameMap = new HashMap<>();
 
-            for (J.VariableDeclarations.NamedVariable variable : declarations.getVariables()) {
-                if (variable.getVariableType() != null) {
-                    found.computeIfAbsent(variable, k -> new ArrayList<>());
-                    // Note: Using a variable type signature is only safe to find uses of class fields.
-                    signatureMap.put(variable.getVariableType().toString(), variable);
-                    // Also map by name for fallback matching
-                    nameMap.put(variable.getSimpleName(), variable);
+            for (J.VariableDeclarations declarations : candidates) {
+                for (J.VariableDeclarations.NamedVariable variable : declarations.getVariables()) {
+                    if (variable.getVariableType() != null) {
+                        uses.useCounts.put(variable, 0);
+                        declarationsOf.put(variable, declarations);
+                        // Note: Using a variable type signature is only safe to find uses of class fields.
+                        signatureMap.put(variable.getVariableType().toString(), variable);
+                        // Also map by name for fallback matching
+                        nameMap.put(variable.getSimpleName(), variable);
+                    }
                 }
             }
 
-            JavaIsoVisitor<Map<J.VariableDeclarations.NamedVariable, List<J.Identifier>>> visitor =
-                    new JavaIsoVisitor<Map<J.VariableDeclarations.NamedVariable, List<J.Identifier>>>() {
-
-                        @Override
-                        public J.Identifier visitIdentifier(J.Identifier identifier,
-                                                            Map<J.VariableDeclarations.NamedVariable, List<J.Identifier>> identifiers) {
-                            if (identifier.getFieldType() != null) {
-                                J.VariableDeclarations.NamedVariable match = null;
-
-                                // First try exact type signature match
-                                String fieldTypeSignature = identifier.getFieldType().toString();
-                                if (signatureMap.containsKey(fieldTypeSignature)) {
-                                    match = signatureMap.get(fieldTypeSignature);
-                                } else if (identifier.getFieldType().getOwner() != null) {
-                                    // Fallback: match by name if it's a field reference from the same class
-                                    J.VariableDeclarations.NamedVariable nameMatch = nameMap.get(identifier.getSimpleName());
-                                    if (nameMatch != null && nameMatch.getVariableType() != null) {
-                                        // Check if the owner type matches the parent class type
-                                        JavaType.FullyQualified ownerType = TypeUtils.asFullyQualified(identifier.getFieldType().getOwner());
-                                        JavaType.FullyQualified parentType = parent.getType();
-                                        if (ownerType != null && parentType != null &&
-                                                TypeUtils.fullyQualifiedNamesAreEqual(ownerType.getFullyQualifiedName(), parentType.getFullyQualifiedName())) {
-                                            match = nameMatch;
-                                        }
-                                    }
+            new JavaIsoVisitor<Integer>() {
+                @Override
+                public J.Identifier visitIdentifier(J.Identifier identifier, Integer p) {
+                    if (identifier.getFieldType() != null) {
+                        J.VariableDeclarations.NamedVariable match = null;
+
+                        // First try exact type signature match
+                        String fieldTypeSignature = identifier.getFieldType().toString();
+                        if (signatureMap.containsKey(fieldTypeSignature)) {
+                            match = signatureMap.get(fieldTypeSignature);
+                        } else if (identifier.getFieldType().getOwner() != null) {
+                            // Fallback: match by name if it's a field reference from the same class
+                            J.VariableDeclarations.NamedVariable nameMatch = nameMap.get(identifier.getSimpleName());
+                            if (nameMatch != null && nameMatch.getVariableType() != null) {
+                                // Check if the owner type matches the parent class type
+                                JavaType.FullyQualified ownerType = TypeUtils.asFullyQualified(identifier.getFieldType().getOwner());
+                                JavaType.FullyQualified parentType = parent.getType();
+                                if (ownerType != null && parentType != null &&
+                                        TypeUtils.fullyQualifiedNamesAreEqual(ownerType.getFullyQualifiedName(), parentType.getFullyQualifiedName())) {
+                                    match = nameMatch;
                                 }
+                            }
+                        }
 
-                                if (match != null) {
-                                    Cursor parentCursor = getCursor().dropParentUntil(is ->
-                                            is instanceof J.VariableDeclarations || is instanceof J.ClassDeclaration);
+                        if (match != null) {
+                            Cursor parentCursor = getCursor().dropParentUntil(is ->
+                                    is instanceof J.VariableDeclarations || is instanceof J.ClassDeclaration);
 
-                                    if (!(parentCursor.getValue() instanceof J.VariableDeclarations && parentCursor.getValue() == declarations)) {
-                                        if (declarations.getVariables().contains(match)) {
-                                            identifiers.computeIfAbsent(match, k -> new ArrayList<>())
-                                                    .add(identifier);
-                                        }
-                                    }
+                            if (parentCursor.getValue() != declarationsOf.get(match)) {
+                                uses.useCounts.merge(match, 1, Integer::sum);
+                                J.VariableDeclarations.NamedVariable user = enclosingCandidate();
+                                if (user != null) {
+                                    uses.usedByInitializer.computeIfAbsent(user, k -> new ArrayList<>()).add(match);
                                 }
                             }
-                            return super.visitIdentifier(identifier, identifiers);
                         }
-                    };
+                    }
+                    return super.visitIdentifier(identifier, p);
+                }
 
-            visitor.visit(parent, found);
-            return found;
+                private J.VariableDeclarations.@Nullable NamedVariable enclosingCandidate() {
+                    for (Cursor c = getCursor().getParent(); c != null; c = c.getParent()) {
+                        Object value = c.getValue();
+                        if (value instanceof J.VariableDeclarations.NamedVariable && declarationsOf.containsKey(value)) {
+                            return (J.VariableDeclarations.NamedVariable) value;
+                        }
+                    }
+                    return null;
+                }
+            }.visit(parent, 0);
+            return uses;
+        }
+
+        /**
+         * @return the fields without uses, including those whose only uses are in the initializers of other
+         * unused fields.
+         */
+        public Set<J.VariableDeclarations.NamedVariable> findUnused() {
+            Set<J.VariableDeclarations.NamedVariable> unused = Collections.newSetFromMap(new IdentityHashMap<>());
+            Deque<J.VariableDeclarations.NamedVariable> worklist = new ArrayDeque<>();
+            for (Map.Entry<J.VariableDeclarations.NamedVariable, Integer> entry : useCounts.entrySet()) {
+                if (entry.getValue() == 0) {
+                    worklist.add(entry.getKey());
+                }
+            }
+            while (!worklist.isEmpty()) {
+                J.VariableDeclarations.NamedVariable removed = worklist.poll();
+                if (unused.add(removed)) {
+                    for (J.VariableDeclarations.NamedVariable used : usedByInitializer.getOrDefault(removed, Collections.emptyList())) {
+                        if (useCounts.merge(used, -1, Integer::sum) == 0) {
+                            worklist.add(used);
+                        }
+                    }
+                }
+            }
+            return unused;
         }
     }
 
@@ -25,9 +25,9 @@ import org.openrewrite.java.search.FindAnnotations;
 import org.openrewrite.java.service.AnnotationService;
 import org.openrewrite.java.tree.*;
 
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
+import static java.util.Collections.emptySet;
 import static java.util.Collections.singleton;
 
 public class RemoveUnusedPrivateMethods extends Recipe {
@@ -42,82 +42,195 @@ public class RemoveUnusedPrivateMethods extends Recipe {
     @Getter
     final Set<String> tags = singleton("RSPEC-S1144");
 
+    private static final String UNREACHABLE_METHODS_KEY = "UNREACHABLE_METHODS";
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         JavaIsoVisitor<ExecutionContext> visitor = new JavaIsoVisitor<ExecutionContext>() {
             @Override
             public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDeclaration, ExecutionContext ctx) {
-                if (unusedWarningsSuppressed(classDeclaration)) {
+                if (unusedWarningsSuppressed(classDeclaration) || DirtyRegionWorklist.isClean(getCursor())) {
                     return classDeclaration;
                 }
+                // One call graph covers all classes of the source file, since no private method is visible outside it
+                Cursor sourceFile = getCursor().dropParentUntil(JavaSourceFile.class::isInstance);
+                sourceFile.computeMessageIfAbsent(UNREACHABLE_METHODS_KEY, k -> PrivateMethodCallGraph.build(sourceFile).findUnreachable());
                 return super.visitClassDeclaration(classDeclaration, ctx);
             }
 
-            private boolean unusedWarningsSuppressed(J classDeclaration) {
-                for (J.Annotation annotation : FindAnnotations.find(classDeclaration, "java.lang.SuppressWarnings")) {
-                    List<Expression> arguments = annotation.getArguments();
-                    if (arguments != null) {
-                        for (Expression argument : arguments) {
-                            if (J.Literal.isLiteralValue(argument, "all") ||
-                                    J.Literal.isLiteralValue(argument, "unused")) {
-                                return true;
-                            }
-                        }
-                    }
-                }
-                return false;
-            }
-
             @Override
             public J.@Nullable MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
                 J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
-                JavaType.Method methodType = method.getMethodType();
-                if (methodType != null && methodType.hasFlags(Flag.Private) &&
-                        !method.isConstructor() &&
-                        service(AnnotationService.class).getAllAnnotations(getCursor()).isEmpty()) {
-
-                    J.ClassDeclaration classDeclaration = getCursor().firstEnclosing(J.ClassDeclaration.class);
-                    if (classDeclaration == null) {
-                        return m;
-                    }
-                    switch (m.getSimpleName()) {
-                        case "readObject":
-                        case "readObjectNoData":
-                        case "readResolve":
-                        case "writeObject":
-                        case "writeReplace":
-                            return m;
+                Set<J.MethodDeclaration> unreachable = getCursor().getNearestMessage(UNREACHABLE_METHODS_KEY, emptySet());
+                if (unreachable.contains(method)) {
+                    doAfterVisit(new RemoveUnusedImports().getVisitor());
+                    //noinspection ConstantConditions
+                    return null;
+                }
+                return m;
+            }
+        };
+        return Preconditions.check(new NoMissingTypes(), DirtyRegionWorklist.repeatUntilStable(visitor, J.ClassDeclaration.class));
+    }
+
+    private static boolean unusedWarningsSuppressed(J classDeclaration) {
+        for (J.Annotation annotation : FindAnnotations.find(classDeclaration, "java.lang.SuppressWarnings")) {
+            List<Expression> arguments = annotation.getArguments();
+            if (arguments != null) {
+                for (Expression argument : arguments) {
+                    if (J.Literal.isLiteralValue(argument, "all") ||
+                            J.Literal.isLiteralValue(argument, "unused")) {
+                        return true;
                     }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Calls between the private methods of the classes in a source file, collected in a single walk of it. Private
+     * methods that are used anywhere else are entry points, and the private methods that can't be reached from any
+     * of them are unused, including helpers that only call each other.
+     */
+    private static class PrivateMethodCallGraph {
+        private final Map<JavaType.Method, J.MethodDeclaration> candidates = new HashMap<>();
+        private final Map<J.MethodDeclaration, List<J.MethodDeclaration>> callees = new IdentityHashMap<>();
+        private final Set<J.MethodDeclaration> entryPoints = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        public static PrivateMethodCallGraph build(Cursor sourceFileCursor) {
+            PrivateMethodCallGraph graph = new PrivateMethodCallGraph();
+            JavaSourceFile cu = sourceFileCursor.getValue();
+            for (JavaType javaType : cu.getTypesInUse().getTypesInUse()) {
+                if (TypeUtils.isOfClassType(javaType, "org.junit.jupiter.params.provider.MethodSource")) {
+                    return graph;
+                }
+            }
 
-                    JavaSourceFile cu = getCursor().firstEnclosingOrThrow(JavaSourceFile.class);
-                    for (JavaType.Method usedMethodType : cu.getTypesInUse().getUsedMethods()) {
-                        if (methodType.getName().equals(usedMethodType.getName()) && methodType.equals(usedMethodType)) {
-                            return m;
+            Set<JavaType.Method> declaredMethods = new HashSet<>(cu.getTypesInUse().getDeclaredMethods());
+            Map<J.ClassDeclaration, Boolean> suppressed = new IdentityHashMap<>();
+            // A call may come before the declaration of the method it calls, so calls are resolved after the walk
+            List<J.@Nullable MethodDeclaration> callers = new ArrayList<>();
+            List<JavaType.Method> calls = new ArrayList<>();
+            new JavaIsoVisitor<Integer>() {
+                /**
+                 * The candidate that the code being visited, including its lambdas and local classes, belongs to.
+                 * That code only runs when the candidate does.
+                 */
+                private J.@Nullable MethodDeclaration caller;
+
+                @Override
+                public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, Integer p) {
+                    JavaType.Method methodType = method.getMethodType();
+                    if (methodType != null && methodType.hasFlags(Flag.Private) &&
+                            !method.isConstructor() &&
+                            !isSerializationMethod(method) &&
+                            !inSuppressedClass() &&
+                            service(AnnotationService.class).getAllAnnotations(getCursor()).isEmpty()) {
+                        graph.candidates.put(methodType, method);
+                        // Temporary stop-gap until we have data flow analysis.
+                        // Do not remove method declarations with generic types since the method invocation in `cu.getTypesInUse` will be bounded with a type.
+                        if (declaredMethods.contains(methodType) && method.toString().contains("Generic{")) {
+                            graph.entryPoints.add(method);
+                        }
+                        J.MethodDeclaration enclosing = caller;
+                        caller = method;
+                        try {
+                            return super.visitMethodDeclaration(method, p);
+                        } finally {
+                            caller = enclosing;
                         }
                     }
+                    return super.visitMethodDeclaration(method, p);
+                }
 
-                    for (JavaType javaType : cu.getTypesInUse().getTypesInUse()) {
-                        if (TypeUtils.isOfClassType(javaType, "org.junit.jupiter.params.provider.MethodSource")) {
-                            return m;
-                        }
+                @Override
+                public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Integer p) {
+                    addCall(method.getMethodType());
+                    return super.visitMethodInvocation(method, p);
+                }
+
+                @Override
+                public J.MemberReference visitMemberReference(J.MemberReference memberRef, Integer p) {
+                    addCall(memberRef.getMethodType());
+                    return super.visitMemberReference(memberRef, p);
+                }
+
+                private void addCall(JavaType.@Nullable Method methodType) {
+                    if (methodType != null && methodType.hasFlags(Flag.Private)) {
+                        callers.add(caller);
+                        calls.add(methodType);
                     }
+                }
 
-                    // Temporary stop-gap until we have data flow analysis.
-                    // Do not remove method declarations with generic types since the method invocation in `cu.getTypesInUse` will be bounded with a type.
-                    for (JavaType.Method usedMethodType : cu.getTypesInUse().getDeclaredMethods()) {
-                        if (methodType.getName().equals(usedMethodType.getName()) && methodType.equals(usedMethodType) && m.toString().contains("Generic{")) {
-                            return m;
+                private boolean inSuppressedClass() {
+                    for (Cursor c = getCursor(); c != null; c = c.getParent()) {
+                        if (c.getValue() instanceof J.ClassDeclaration &&
+                                suppressed.computeIfAbsent(c.getValue(), RemoveUnusedPrivateMethods::unusedWarningsSuppressed)) {
+                            return true;
                         }
                     }
+                    return false;
+                }
+            }.visit(cu, 0, sourceFileCursor.getParentOrThrow());
 
-                    doAfterVisit(new RemoveUnusedImports().getVisitor());
-                    //noinspection ConstantConditions
-                    return null;
+            Set<JavaType.Method> called = new HashSet<>();
+            for (int i = 0; i < calls.size(); i++) {
+                J.MethodDeclaration callee = graph.candidates.get(calls.get(i));
+                if (callee == null) {
+                    continue;
+                }
+                called.add(calls.get(i));
+                J.MethodDeclaration caller = callers.get(i);
+                if (caller == null) {
+                    graph.entryPoints.add(callee);
+                } else if (caller != callee) {
+                    graph.callees.computeIfAbsent(caller, k -> new ArrayList<>()).add(callee);
                 }
+            }
 
-                return m;
+            // Any use that the call graph doesn't account for keeps the method, as it did before
+            for (JavaType.Method usedMethod : cu.getTypesInUse().getUsedMethods()) {
+                J.MethodDeclaration candidate = graph.candidates.get(usedMethod);
+                if (candidate != null && !called.contains(usedMethod)) {
+                    graph.entryPoints.add(candidate);
+                }
             }
-        };
-        return Preconditions.check(new NoMissingTypes(), Repeat.repeatUntilStable(visitor));
+            return graph;
+        }
+
+        private static boolean isSerializationMethod(J.MethodDeclaration method) {
+            switch (method.getSimpleName()) {
+                case "readObject":
+                case "readObjectNoData":
+                case "readResolve":
+                case "writeObject":
+                case "writeReplace":
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * @return the candidate methods that can't be reached from any entry point.
+         */
+        public Set<J.MethodDeclaration> findUnreachable() {
+            Set<J.MethodDeclaration> reachable = Collections.newSetFromMap(new IdentityHashMap<>());
+            Deque<J.MethodDeclaration> worklist = new ArrayDeque<>(entryPoints);
+            while (!worklist.isEmpty()) {
+                J.MethodDeclaration method = worklist.poll();
+                if (reachable.add(method)) {
+                    worklist.addAll(callees.getOrDefault(method, Collections.emptyList()));
+                }
+            }
+            Set<J.MethodDeclaration> unreachable = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (J.MethodDeclaration candidate : candidates.values()) {
+                if (!reachable.contains(candidate)) {
+                    unreachable.add(candidate);
+                }
+            }
+            return unreachable;
+        }
     }
 }
@@ -26,15 +26,21 @@ import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.Javadoc;
+import org.openrewrite.staticanalysis.table.SourceFilesSkipped;
 
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
 public class ReplaceDeprecatedRuntimeExecMethods extends Recipe {
-    private static final MethodMatcher RUNTIME_EXEC_CMD = new MethodMatcher("java.lang.Runtime exec(String)");
-    private static final MethodMatcher RUNTIME_EXEC_CMD_ENVP = new MethodMatcher("java.lang.Runtime exec(String, String[])");
-    private static final MethodMatcher RUNTIME_EXEC_CMD_ENVP_FILE = new MethodMatcher("java.lang.Runtime exec(String, String[], java.io.File)");
+    private static final String RUNTIME_EXEC_CMD_PATTERN = "java.lang.Runtime exec(String)";
+    private static final String RUNTIME_EXEC_CMD_ENVP_PATTERN = "java.lang.Runtime exec(String, String[])";
+    private static final String RUNTIME_EXEC_CMD_ENVP_FILE_PATTERN = "java.lang.Runtime exec(String, String[], java.io.File)";
+    private static final MethodMatcher RUNTIME_EXEC_CMD = new MethodMatcher(RUNTIME_EXEC_CMD_PATTERN);
+    private static final MethodMatcher RUNTIME_EXEC_CMD_ENVP = new MethodMatcher(RUNTIME_EXEC_CMD_ENVP_PATTERN);
+    private static final MethodMatcher RUNTIME_EXEC_CMD_ENVP_FILE = new MethodMatcher(RUNTIME_EXEC_CMD_ENVP_FILE_PATTERN);
+
+    transient SourceFilesSkipped skipped = new SourceFilesSkipped(this);
 
     @Getter
     final String displayName = "Replace deprecated `Runtime#exec()` methods";
@@ -46,9 +52,15 @@ public class ReplaceDeprecatedRuntimeExecMethods extends Recipe {
     @Getter
     final Duration estimatedEffortPerOccurrence = Duration.ofMinutes(3);
 
+    @Override
+    public void onComplete(ExecutionContext ctx) {
+        UsesAnyMethod.recordSkippedSourceFiles(this, skipped, ctx);
+    }
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesJavaVersion<>(18), new JavaIsoVisitor<ExecutionContext>() {
+        return Preconditions.check(Preconditions.and(new UsesJavaVersion<>(18),
+                new UsesAnyMethod(this, RUNTIME_EXEC_CMD_PATTERN, RUNTIME_EXEC_CMD_ENVP_PATTERN, RUNTIME_EXEC_CMD_ENVP_FILE_PATTERN)), new JavaIsoVisitor<ExecutionContext>() {
             @Override
             protected JavadocVisitor<ExecutionContext> getJavadocVisitor() {
                 return new JavadocVisitor<ExecutionContext>(this) {
@@ -15,6 +15,7 @@
  */
 package org.openrewrite.staticanalysis;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import lombok.experimental.NonFinal;
@@ -25,19 +26,26 @@ import org.openrewrite.java.*;
 import org.openrewrite.java.marker.JavaSourceSet;
 import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toSet;
 import static org.openrewrite.Tree.randomId;
 
 @EqualsAndHashCode(callSuper = false)
 @Value
-public class ReplaceDuplicateStringLiterals extends Recipe {
+public class ReplaceDuplicateStringLiterals extends ScanningRecipe<ReplaceDuplicateStringLiterals.Accumulator> {
 
     @Option(displayName = "Apply recipe to test source set",
             description = "Changes only apply to main by default. `includeTestSources` will apply the recipe to `test` source files.",
@@ -45,6 +53,24 @@ public class ReplaceDuplicateStringLiterals extends Recipe {
     @Nullable
     Boolean includeTestSources;
 
+    @Option(displayName = "Consolidate across classes",
+            description = "When enabled, `String` literals that are repeated a minimum of 3 times across 2 or more classes of the same package " +
+                    "are replaced with constants of a `Constants` class generated in that package.",
+            required = false)
+    @Nullable
+    Boolean consolidateAcrossClasses;
+
+    @JsonCreator
+    public ReplaceDuplicateStringLiterals(@Nullable Boolean includeTestSources, @Nullable Boolean consolidateAcrossClasses) {
+        this.includeTestSources = includeTestSources;
+        this.consolidateAcrossClasses = consolidateAcrossClasses;
+    }
+
+    @Deprecated
+    public ReplaceDuplicateStringLiterals(@Nullable Boolean includeTestSources) {
+        this(includeTestSources, null);
+    }
+
     String displayName = "Replace duplicate `String` literals";
 
     String description = "Replaces `String` literals with a length of 5 or greater repeated a minimum of 3 times. " +
@@ -61,16 +87,67 @@ public class ReplaceDuplicateStringLiterals extends Recipe {
     int maxVariableLength = 40;
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesType<>("java.lang.String", false), new JavaVisitor<ExecutionContext>() {
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        return new Accumulator();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
+        if (!Boolean.TRUE.equals(consolidateAcrossClasses)) {
+            return TreeVisitor.noop();
+        }
+        return new JavaIsoVisitor<ExecutionContext>() {
             @Override
             public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
                 if (tree instanceof JavaSourceFile) {
                     JavaSourceFile cu = (JavaSourceFile) tree;
-                    Optional<JavaSourceSet> sourceSet = cu.getMarkers().findFirst(JavaSourceSet.class);
-                    if (!Boolean.TRUE.equals(includeTestSources) && !(sourceSet.isPresent() && "main".equals(sourceSet.get().getName()))) {
+                    // The name of the constants class must not be taken by any class of the package, in any source set
+                    acc.classNamesOf(cu).addAll(classNames(cu));
+                    if (!isIncluded(cu) || new UsesType<>("java.lang.String", false).visit(cu, ctx) == cu) {
                         return cu;
                     }
+                    PackageLiterals literals = acc.packageOf(cu);
+                    for (J.ClassDeclaration classDecl : cu.getClasses()) {
+                        if (isConstantsClass(classDecl)) {
+                            literals.constantsClassScanned = true;
+                        } else if (classDecl.getType() != null) {
+                            literals.add(DuplicateLiteralInfo.find(classDecl, value -> true).getSharedLiterals(), acc);
+                        }
+                    }
+                    return cu;
+                }
+                return super.visit(tree, ctx);
+            }
+        };
+    }
+
+    @Override
+    public Collection<? extends SourceFile> generate(Accumulator acc, ExecutionContext ctx) {
+        List<SourceFile> constantsClasses = new ArrayList<>();
+        for (Map.Entry<Path, PackageLiterals> entry : acc.packages.entrySet()) {
+            PackageLiterals literals = entry.getValue();
+            if (literals.constantsClass != null || literals.constantsClassScanned) {
+                // The constants class was generated by an earlier cycle
+                continue;
+            }
+            String source = literals.assignConstants(this, acc.classNames.getOrDefault(literals.packageName, emptySet()));
+            if (source != null) {
+                JavaParser.fromJavaVersion().build().parse(ctx, source)
+                        .map(sf -> sf.<SourceFile>withSourcePath(entry.getKey().resolve(literals.constantsClass + ".java")))
+                        .map(sf -> literals.sourceSet == null ? sf : sf.<SourceFile>withMarkers(sf.getMarkers().add(literals.sourceSet)))
+                        .forEach(constantsClasses::add);
+            }
+        }
+        return constantsClasses;
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(Accumulator acc) {
+        return Preconditions.check(new UsesType<>("java.lang.String", false), new JavaVisitor<ExecutionContext>() {
+            @Override
+            public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof JavaSourceFile && !isIncluded((JavaSourceFile) tree)) {
+                    return (J) tree;
                 }
                 return super.visit(tree, ctx);
             }
@@ -82,11 +159,23 @@ public class ReplaceDuplicateStringLiterals extends Recipe {
                     return classDecl;
                 }
 
-                DuplicateLiteralInfo duplicateLiteralInfo = DuplicateLiteralInfo.find(classDecl);
+                PackageLiterals packageLiterals = acc.packages.get(directoryOf(getCursor().firstEnclosingOrThrow(JavaSourceFile.class)));
+                JavaType.FullyQualified constantsType = packageLiterals == null ? null : packageLiterals.constantsType;
+                if (constantsType != null && TypeUtils.isOfType(classDecl.getType(), constantsType)) {
+                    return classDecl;
+                }
+                Map<String, String> constants = constantsType == null ? emptyMap() : packageLiterals.constants;
+
+                DuplicateLiteralInfo duplicateLiteralInfo = DuplicateLiteralInfo.find(classDecl, constants::containsKey);
                 Map<String, List<J.Literal>> duplicateLiteralsMap = duplicateLiteralInfo.getDuplicateLiterals();
-                if (duplicateLiteralsMap.isEmpty()) {
+                Map<String, List<J.Literal>> sharedLiteralsMap = duplicateLiteralInfo.getSharedLiterals();
+                if (duplicateLiteralsMap.isEmpty() && sharedLiteralsMap.isEmpty()) {
                     return classDecl;
                 }
+                Map<J.Literal, String> sharedReplacements = new HashMap<>();
+                for (Map.Entry<String, List<J.Literal>> entry : sharedLiteralsMap.entrySet()) {
+                    entry.getValue().forEach(v -> sharedReplacements.put(v, constants.get(entry.getKey())));
+                }
                 Map<String, String> fieldValueToFieldName = duplicateLiteralInfo.getFieldValueToFieldName();
                 Set<String> variableNames = VariableNameUtils.findNamesInScope(getCursor()).stream()
                         .filter(i -> !fieldValueToFieldName.containsValue(i)).collect(toSet());
@@ -134,58 +223,228 @@ public class ReplaceDuplicateStringLiterals extends Recipe {
                     variableNames.add(variableName);
                     entry.getValue().forEach(v -> replacements.put(v, variableName));
                 }
-                return replacements.isEmpty() ? classDecl :
-                        new ReplaceStringLiterals(classDecl, replacements).visitNonNull(classDecl, ctx, requireNonNull(getCursor().getParent()));
+                return replacements.isEmpty() && sharedReplacements.isEmpty() ? classDecl :
+                        new ReplaceStringLiterals(classDecl, replacements, sharedReplacements, constantsType)
+                                .visitNonNull(classDecl, ctx, requireNonNull(getCursor().getParent()));
             }
+        });
+    }
+
+    private boolean isIncluded(JavaSourceFile cu) {
+        Optional<JavaSourceSet> sourceSet = cu.getMarkers().findFirst(JavaSourceSet.class);
+        return Boolean.TRUE.equals(includeTestSources) || sourceSet.isPresent() && "main".equals(sourceSet.get().getName());
+    }
+
+    /**
+     * @return The names of the top-level classes of the source file, and the name of the file itself.
+     */
+    private static Set<String> classNames(JavaSourceFile cu) {
+        Set<String> names = new HashSet<>();
+        for (J.ClassDeclaration classDecl : cu.getClasses()) {
+            names.add(classDecl.getSimpleName());
+        }
+        String fileName = cu.getSourcePath().getFileName().toString();
+        names.add(fileName.endsWith(".java") ? fileName.substring(0, fileName.length() - ".java".length()) : fileName);
+        return names;
+    }
 
-            /**
-             * Generate a variable name that does not create a name space conflict.
-             * @param name variable name to replace duplicate literals with.
-             * @param variableNames variable names that exist in the compilation unit.
-             * @return unique variable name.
-             */
-            private String getNameWithoutShadow(String name, Set<String> variableNames) {
-                String transformedName = transformToVariableName(name);
-                String newName = transformedName;
-                int append = 0;
-                while (variableNames.contains(newName)) {
-                    append++;
-                    newName = transformedName + "_" + append;
+    /**
+     * @return Whether the class has the shape of a constants class this recipe generates, which is scanned again
+     * when the recipe runs another cycle.
+     */
+    private static boolean isConstantsClass(J.ClassDeclaration classDecl) {
+        if (!classDecl.getSimpleName().startsWith("Constants") || !classDecl.hasModifier(J.Modifier.Type.Final)) {
+            return false;
+        }
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.VariableDeclarations) {
+                J.VariableDeclarations field = (J.VariableDeclarations) statement;
+                if (!field.hasModifier(J.Modifier.Type.Static) || !field.hasModifier(J.Modifier.Type.Final) ||
+                    !TypeUtils.isString(field.getType())) {
+                    return false;
                 }
-                return newName;
+            } else if (!(statement instanceof J.MethodDeclaration) ||
+                       !((J.MethodDeclaration) statement).isConstructor() ||
+                       !((J.MethodDeclaration) statement).hasModifier(J.Modifier.Type.Private)) {
+                return false;
             }
+        }
+        return true;
+    }
 
-            /**
-             * Convert a `String` value to a variable name with naming convention of all caps delimited by `_`.
-             * Special characters are filtered out to meet regex convention: ^[A-Z][A-Z0-9]*(_[A-Z0-9]+)*$
-             */
-            private String transformToVariableName(String valueOfLiteral) {
-                boolean prevIsLower = false;
-                boolean prevIsCharacter = false;
-                StringBuilder newName = new StringBuilder();
-                for (int i = 0; i < valueOfLiteral.length(); i++) {
-                    char c = valueOfLiteral.charAt(i);
-                    if (i > 0 && (Character.isUpperCase(c) && prevIsLower || !prevIsCharacter) &&
-                        newName.length() > 0 && newName.charAt(newName.length() - 1) != '_') {
-                        newName.append('_');
-                    }
-                    prevIsCharacter = Character.isLetterOrDigit(c);
-                    if (prevIsCharacter) {
-                        if (newName.length() == 0 && Character.isDigit(c)) {
-                            newName.append("A_");
-                        }
-                        newName.append(Character.toUpperCase(c));
-                        prevIsLower = Character.isLowerCase(c);
-                    }
+    private static Path directoryOf(JavaSourceFile cu) {
+        Path directory = cu.getSourcePath().getParent();
+        return directory == null ? Paths.get("") : directory;
+    }
+
+    /**
+     * Generate a variable name that does not create a name space conflict.
+     * @param name variable name to replace duplicate literals with.
+     * @param variableNames variable names that exist in the compilation unit.
+     * @return unique variable name.
+     */
+    private String getNameWithoutShadow(String name, Set<String> variableNames) {
+        String transformedName = transformToVariableName(name);
+        String newName = transformedName;
+        int append = 0;
+        while (variableNames.contains(newName)) {
+            append++;
+            newName = transformedName + "_" + append;
+        }
+        return newName;
+    }
+
+    /**
+     * Convert a `String` value to a variable name with naming convention of all caps delimited by `_`.
+     * Special characters are filtered out to meet regex convention: ^[A-Z][A-Z0-9]*(_[A-Z0-9]+)*$
+     */
+    private String transformToVariableName(String valueOfLiteral) {
+        boolean prevIsLower = false;
+        boolean prevIsCharacter = false;
+        StringBuilder newName = new StringBuilder();
+        for (int i = 0; i < valueOfLiteral.length(); i++) {
+            char c = valueOfLiteral.charAt(i);
+            if (i > 0 && (Character.isUpperCase(c) && prevIsLower || !prevIsCharacter) &&
+                newName.length() > 0 && newName.charAt(newName.length() - 1) != '_') {
+                newName.append('_');
+            }
+            prevIsCharacter = Character.isLetterOrDigit(c);
+            if (prevIsCharacter) {
+                if (newName.length() == 0 && Character.isDigit(c)) {
+                    newName.append("A_");
                 }
-                String newNameString = newName.toString();
-                while (newNameString.length() > maxVariableLength){
-                    int indexOf = newNameString.lastIndexOf("_");
-                    newNameString = newNameString.substring(0, indexOf > -1 ? indexOf : maxVariableLength);
+                newName.append(Character.toUpperCase(c));
+                prevIsLower = Character.isLowerCase(c);
+            }
+        }
+        String newNameString = newName.toString();
+        while (newNameString.length() > maxVariableLength){
+            int indexOf = newNameString.lastIndexOf("_");
+            newNameString = newNameString.substring(0, indexOf > -1 ? indexOf : maxVariableLength);
+        }
+        return VariableNameUtils.normalizeName(newNameString);
+    }
+
+    public static class Accumulator {
+        /**
+         * The literals of each package, by the directory of its source files, so that packages of the same name in
+         * different source sets each get their own constants class.
+         */
+        final Map<Path, PackageLiterals> packages = new ConcurrentHashMap<>();
+
+        /**
+         * Literal values seen in any package, so that a value repeated across packages is only held once.
+         */
+        final Map<String, String> values = new ConcurrentHashMap<>();
+
+        /**
+         * The names of the classes of each package, by package name, from the source files of all source sets
+         * whether or not they contain any literal.
+         */
+        final Map<String, Set<String>> classNames = new ConcurrentHashMap<>();
+
+        PackageLiterals packageOf(JavaSourceFile cu) {
+            return packages.computeIfAbsent(directoryOf(cu), dir -> new PackageLiterals(packageName(cu),
+                    cu.getMarkers().findFirst(JavaSourceSet.class).orElse(null)));
+        }
+
+        Set<String> classNamesOf(JavaSourceFile cu) {
+            return classNames.computeIfAbsent(packageName(cu), p -> ConcurrentHashMap.newKeySet());
+        }
+
+        private static String packageName(JavaSourceFile cu) {
+            return cu.getPackageDeclaration() == null ? "" : cu.getPackageDeclaration().getPackageName();
+        }
+    }
+
+    static class PackageLiterals {
+        final String packageName;
+        final @Nullable JavaSourceSet sourceSet;
+
+        /**
+         * For each literal value, the number of times it occurs in the package and the number of classes it occurs in.
+         */
+        final Map<String, int[]> counts = new HashMap<>();
+
+        /**
+         * For each literal value, its source code, which becomes the initializer of its constant.
+         */
+        final Map<String, String> valueSources = new HashMap<>();
+
+        @Nullable
+        String constantsClass;
+
+        JavaType.@Nullable FullyQualified constantsType;
+
+        /**
+         * Whether a constants class generated by an earlier cycle is among the scanned source files of the package.
+         */
+        volatile boolean constantsClassScanned;
+
+        /**
+         * The constant name of each literal value that is consolidated, once {@link #constantsClass} is assigned.
+         */
+        final Map<String, String> constants = new HashMap<>();
+
+        PackageLiterals(String packageName, @Nullable JavaSourceSet sourceSet) {
+            this.packageName = packageName;
+            this.sourceSet = sourceSet;
+        }
+
+        synchronized void add(Map<String, List<J.Literal>> literals, Accumulator acc) {
+            if (constantsClass != null) {
+                // Scanned again by a later cycle, once the constants are assigned and the literals replaced
+                return;
+            }
+            for (Map.Entry<String, List<J.Literal>> entry : literals.entrySet()) {
+                String value = acc.values.computeIfAbsent(entry.getKey(), v -> v);
+                int[] count = counts.computeIfAbsent(value, v -> new int[2]);
+                count[0] += entry.getValue().size();
+                count[1]++;
+                valueSources.putIfAbsent(value, entry.getValue().get(0).getValueSource());
+            }
+        }
+
+        /**
+         * Picks the constants of the values repeated across classes and names the class declaring them.
+         *
+         * @param classNames The names of the classes of the package, which the constants class must not take.
+         * @return The source code of the constants class, or null if no literal is repeated across classes.
+         */
+        @Nullable
+        String assignConstants(ReplaceDuplicateStringLiterals recipe, Set<String> classNames) {
+            Set<String> constantNames = new HashSet<>();
+            StringBuilder fields = new StringBuilder();
+            for (Map.Entry<String, int[]> entry : new TreeMap<>(counts).entrySet()) {
+                String valueSource = valueSources.get(entry.getKey());
+                if (entry.getValue()[0] >= 3 && entry.getValue()[1] >= 2 && valueSource != null) {
+                    String name = recipe.getNameWithoutShadow(entry.getKey(), constantNames);
+                    if (StringUtils.isBlank(name)) {
+                        continue;
+                    }
+                    constantNames.add(name);
+                    constants.put(entry.getKey(), name);
+                    fields.append("    static final String ").append(name).append(" = ").append(valueSource).append(";\n");
                 }
-                return VariableNameUtils.normalizeName(newNameString);
             }
-        });
+            if (constants.isEmpty()) {
+                return null;
+            }
+
+            String className = "Constants";
+            for (int i = 1; classNames.contains(className); i++) {
+                className = "Constants" + i;
+            }
+            constantsClass = className;
+            constantsType = JavaType.ShallowClass.build(packageName.isEmpty() ? className : packageName + "." + className);
+            return (packageName.isEmpty() ? "" : "package " + packageName + ";\n\n") +
+                    "final class " + className + " {\n" +
+                    fields +
+                    "\n" +
+                    "    private " + className + "() {\n" +
+                    "    }\n" +
+                    "}\n";
+        }
     }
 
     private static boolean isPrivateStaticFinalVariable(J.VariableDeclarations.NamedVariable variable) {
@@ -200,8 +459,13 @@ public class ReplaceDuplicateStringLiterals extends Recipe {
         @NonFinal
         Map<String, List<J.Literal>> duplicateLiterals;
 
-        public static DuplicateLiteralInfo find(J.ClassDeclaration inClass) {
-            DuplicateLiteralInfo result = new DuplicateLiteralInfo(new LinkedHashMap<>(), new LinkedHashMap<>(), new HashMap<>());
+        /**
+         * All replaceable literals whose value is shared with other classes, however often they occur in this class.
+         */
+        Map<String, List<J.Literal>> sharedLiterals;
+
+        public static DuplicateLiteralInfo find(J.ClassDeclaration inClass, Predicate<String> shared) {
+            DuplicateLiteralInfo result = new DuplicateLiteralInfo(new LinkedHashMap<>(), new LinkedHashMap<>(), new HashMap<>(), new HashMap<>());
             new JavaIsoVisitor<Integer>() {
 
                 @Override
@@ -253,16 +517,32 @@ public class ReplaceDuplicateStringLiterals extends Recipe {
                              parent.getValue() instanceof J.NewClass ||
                              parent.getValue() instanceof J.MethodInvocation) {
 
-                            result.duplicateLiterals.computeIfAbsent(((String) literal.getValue()), k -> new ArrayList<>(1)).add(literal);
+                            String value = (String) literal.getValue();
+                            (shared.test(value) ? result.sharedLiterals : result.duplicateLiterals)
+                                    .computeIfAbsent(value, k -> new ArrayList<>(1)).add(literal);
                         }
                     }
                     return literal;
                 }
 
             }.visit(inClass, 0);
-            Map<String, List<J.Literal>> filteredMap = new TreeMap<>(Comparator.reverseOrder());
+            // A shared value that the class already declares a constant for is replaced with that constant instead
+            Set<String> declared = new HashSet<>();
+            for (Iterator<Map.Entry<String, List<J.Literal>>> it = result.sharedLiterals.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<String, List<J.Literal>> entry = it.next();
+                if (result.fieldValueToFieldName.containsKey(entry.getKey())) {
+                    result.duplicateLiterals.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).addAll(entry.getValue());
+                    declared.add(entry.getKey());
+                    it.remove();
+                }
+            }
+            Map<String, List<J.Literal>> filteredMap = emptyMap();
             for (Map.Entry<String, List<J.Literal>> entry : result.duplicateLiterals.entrySet()) {
-                if (entry.getValue().size() >= 3) {
+                if (entry.getValue().size() >= 3 || declared.contains(entry.getKey())) {
+                    if (filteredMap.isEmpty()) {
+                        // Only sorted when there is something to replace, which most classes don't have
+                        filteredMap = new TreeMap<>(Comparator.reverseOrder());
+                    }
                     filteredMap.put(entry.getKey(), entry.getValue());
                 }
             }
@@ -273,13 +553,21 @@ public class ReplaceDuplicateStringLiterals extends Recipe {
     }
 
     /**
-     * ReplaceStringLiterals in a class with a reference to a `private static final String` with the provided variable name.
+     * ReplaceStringLiterals in a class with a reference to a `private static final String` with the provided variable name,
+     * or to a constant of the generated constants class of the package.
      */
     @EqualsAndHashCode(callSuper = false)
     @Value
     private static class ReplaceStringLiterals extends JavaVisitor<ExecutionContext> {
         J.ClassDeclaration isClass;
         Map<J.Literal, String> replacements;
+        Map<J.Literal, String> sharedReplacements;
+        JavaType.@Nullable FullyQualified constantsType;
+
+        /**
+         * Whether a constants class generated by an earlier cycle is among the scanned source files of the package.
+         */
+        volatile boolean constantsClassScanned;
 
         @Override
         public J visitLiteral(J.Literal literal, ExecutionContext ctx) {
@@ -303,6 +591,32 @@ public class ReplaceDuplicateStringLiterals extends Recipe {
                         )
                 );
             }
+            String constantName = sharedReplacements.get(literal);
+            if (constantName != null && constantsType != null) {
+                return new J.FieldAccess(
+                        randomId(),
+                        literal.getPrefix(),
+                        literal.getMarkers(),
+                        new J.Identifier(randomId(), Space.EMPTY, Markers.EMPTY, emptyList(), constantsType.getClassName(), constantsType, null),
+                        new JLeftPadded<>(Space.EMPTY, new J.Identifier(
+                                randomId(),
+                                Space.EMPTY,
+                                Markers.EMPTY,
+                                emptyList(),
+                                constantName,
+                                JavaType.Primitive.String,
+                                new JavaType.Variable(
+                                        null,
+                                        Flag.flagsToBitMap(EnumSet.of(Flag.Static, Flag.Final)),
+                                        constantName,
+                                        constantsType,
+                                        JavaType.Primitive.String,
+                                        emptyList()
+                                )
+                        ), Markers.EMPTY),
+                        JavaType.Primitive.String
+                );
+            }
             return literal;
         }
     }
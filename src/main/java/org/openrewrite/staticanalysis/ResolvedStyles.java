@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.style.NamedStyles;
+import org.openrewrite.style.Style;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The styles of a source file, resolved from its {@link NamedStyles} markers once and shared by the visitors of all
+ * recipes that run on it through the {@link ExecutionContext}, instead of being merged again by each of them.
+ * <p>
+ * A style only depends on the style markers of the source file, so the last snapshot is also reused for the next
+ * source file as long as its markers are the same instances, as they usually are for the source files of a project.
+ */
+final class ResolvedStyles {
+    private static final String RESOLVED_STYLES_KEY = "org.openrewrite.staticanalysis.RESOLVED_STYLES";
+
+    private final List<NamedStyles> namedStyles;
+    private final Map<Class<? extends Style>, Style> styles = new ConcurrentHashMap<>();
+
+    private ResolvedStyles(List<NamedStyles> namedStyles) {
+        this.namedStyles = namedStyles;
+    }
+
+    /**
+     * Like {@link Style#from(Class, SourceFile, Supplier)}, which it falls back to when the visitor is not run with
+     * an {@link ExecutionContext}. The default style has to be the same for every caller of a given style class.
+     *
+     * @param p The parameter of the calling visitor.
+     */
+    static <S extends Style> S from(Class<S> styleClass, SourceFile sourceFile, Supplier<S> defaultStyle, @Nullable Object p) {
+        if (!(p instanceof ExecutionContext)) {
+            return Style.from(styleClass, sourceFile, defaultStyle);
+        }
+        ExecutionContext ctx = (ExecutionContext) p;
+        List<NamedStyles> namedStyles = sourceFile.getMarkers().findAll(NamedStyles.class);
+        ResolvedStyles resolved = ctx.getMessage(RESOLVED_STYLES_KEY);
+        if (resolved == null || !resolved.isResolvedFrom(namedStyles)) {
+            resolved = new ResolvedStyles(namedStyles);
+            ctx.putMessage(RESOLVED_STYLES_KEY, resolved);
+        }
+        //noinspection unchecked
+        return (S) resolved.styles.computeIfAbsent(styleClass, k -> Style.from(styleClass, sourceFile, defaultStyle));
+    }
+
+    private boolean isResolvedFrom(List<NamedStyles> markers) {
+        if (markers.size() != namedStyles.size()) {
+            return false;
+        }
+        for (int i = 0; i < markers.size(); i++) {
+            if (markers.get(i) != namedStyles.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
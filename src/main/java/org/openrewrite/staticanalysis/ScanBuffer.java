@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The accumulator of a {@link org.openrewrite.ScanningRecipe} whose scan phase may run on several threads. Each thread
+ * adds to a buffer of its own, so adding never contends. The buffers are registered in this accumulator rather than in
+ * a thread local, so that they are released with the accumulator even when pooled threads outlive the run. They are
+ * merged the first time the elements are read, which is after the scan phase has completed. Adding to the buffer again,
+ * as the scan phase of a later cycle does, discards the merged elements, so that the next read merges them again.
+ * <p>
+ * The merged elements are sorted, so that the edit phase sees them in the same order no matter how the source files
+ * were distributed over the threads.
+ */
+final class ScanBuffer<T> {
+    private final Map<Thread, List<T>> buffers = new ConcurrentHashMap<>();
+    private final Comparator<? super T> order;
+    private volatile @Nullable List<T> merged;
+
+    ScanBuffer(Comparator<? super T> order) {
+        this.order = order;
+    }
+
+    void add(T element) {
+        Thread thread = Thread.currentThread();
+        // Only the thread itself registers its buffer, so looking it up first cannot race
+        List<T> buffer = buffers.get(thread);
+        if (buffer == null) {
+            buffer = new ArrayList<>();
+            buffers.put(thread, buffer);
+        }
+        buffer.add(element);
+        if (merged != null) {
+            merged = null;
+        }
+    }
+
+    List<T> getElements() {
+        List<T> m = merged;
+        if (m == null) {
+            synchronized (this) {
+                m = merged;
+                if (m == null) {
+                    m = new ArrayList<>();
+                    for (List<T> b : buffers.values()) {
+                        m.addAll(b);
+                    }
+                    m.sort(order);
+                    merged = m = Collections.unmodifiableList(m);
+                }
+            }
+        }
+        return m;
+    }
+}
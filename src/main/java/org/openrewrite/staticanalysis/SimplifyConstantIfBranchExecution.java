@@ -29,7 +29,6 @@ import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.Statement;
-import org.openrewrite.style.Style;
 
 import java.util.Optional;
 import java.util.Set;
@@ -61,7 +60,7 @@ public class SimplifyConstantIfBranchExecution extends Recipe {
             if (bl != block) {
                 bl = (J.Block) new RemoveUnneededBlock.RemoveUnneededBlockStatementVisitor()
                         .visitNonNull(bl, ctx, getCursor().getParentOrThrow());
-                EmptyBlockStyle style = Style.from(EmptyBlockStyle.class, getCursor().firstEnclosingOrThrow(JavaSourceFile.class), Checkstyle::emptyBlock);
+                EmptyBlockStyle style = ResolvedStyles.from(EmptyBlockStyle.class, getCursor().firstEnclosingOrThrow(JavaSourceFile.class), Checkstyle::emptyBlock, ctx);
                 bl = (J.Block) new EmptyBlockVisitor<>(style)
                         .visitNonNull(bl, ctx, getCursor().getParentOrThrow());
             }
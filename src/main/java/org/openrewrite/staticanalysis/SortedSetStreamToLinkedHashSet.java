@@ -24,8 +24,8 @@ import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.staticanalysis.table.SourceFilesSkipped;
 
 @EqualsAndHashCode(callSuper = false)
 @Value
@@ -37,11 +37,19 @@ public class SortedSetStreamToLinkedHashSet extends Recipe {
 
     private static final MethodMatcher STREAM_COLLECT_METHOD_MATCHER = new MethodMatcher("java.util.stream.Stream collect(java.util.stream.Collector)");
     private static final MethodMatcher STREAM_SORTED_METHOD_MATCHER = new MethodMatcher("java.util.stream.Stream sorted()");
-    private static final MethodMatcher COLLECTORS_TO_SET_METHOD_MATCHER = new MethodMatcher("java.util.stream.Collectors toSet()");
+    private static final String COLLECTORS_TO_SET_PATTERN = "java.util.stream.Collectors toSet()";
+    private static final MethodMatcher COLLECTORS_TO_SET_METHOD_MATCHER = new MethodMatcher(COLLECTORS_TO_SET_PATTERN);
+
+    transient SourceFilesSkipped skipped = new SourceFilesSkipped(this);
+
+    @Override
+    public void onComplete(ExecutionContext ctx) {
+        UsesAnyMethod.recordSkippedSourceFiles(this, skipped, ctx);
+    }
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesMethod<>(COLLECTORS_TO_SET_METHOD_MATCHER), new JavaIsoVisitor<ExecutionContext>() {
+        return Preconditions.check(new UsesAnyMethod(this, COLLECTORS_TO_SET_PATTERN), new JavaIsoVisitor<ExecutionContext>() {
             @Override
             public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                 J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
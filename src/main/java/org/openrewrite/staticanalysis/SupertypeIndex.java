@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+/**
+ * The fully qualified names of all types that are extended somewhere in the repository. Names are stored as 64-bit
+ * fingerprints in an open-addressing table, so the index takes about 16 bytes per supertype no matter how long
+ * the names are. A fingerprint collision can only make a type look extended, which keeps it from being finalized.
+ */
+final class SupertypeIndex {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // A fingerprint of 0 marks an empty slot, so it is remapped to 1 when computed
+    private long[] slots = new long[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * @return true if the type was not in the index yet.
+     */
+    boolean add(String fullyQualifiedName) {
+        if (size * 2 >= slots.length) {
+            grow();
+        }
+        long fingerprint = fingerprint(fullyQualifiedName);
+        if (insert(slots, fingerprint)) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    boolean contains(String fullyQualifiedName) {
+        long fingerprint = fingerprint(fullyQualifiedName);
+        int mask = slots.length - 1;
+        for (int i = index(fingerprint, mask); slots[i] != 0; i = (i + 1) & mask) {
+            if (slots[i] == fingerprint) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] grown = new long[slots.length * 2];
+        for (long fingerprint : slots) {
+            if (fingerprint != 0) {
+                insert(grown, fingerprint);
+            }
+        }
+        slots = grown;
+    }
+
+    private static boolean insert(long[] slots, long fingerprint) {
+        int mask = slots.length - 1;
+        int i = index(fingerprint, mask);
+        for (; slots[i] != 0; i = (i + 1) & mask) {
+            if (slots[i] == fingerprint) {
+                return false;
+            }
+        }
+        slots[i] = fingerprint;
+        return true;
+    }
+
+    private static int index(long fingerprint, int mask) {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+    }
+
+    /**
+     * 64-bit FNV-1a over the characters of the name.
+     */
+    private static long fingerprint(String fullyQualifiedName) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < fullyQualifiedName.length(); i++) {
+            hash ^= fullyQualifiedName.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.openrewrite.java.JavaTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The context-free templates of the recipes that apply one for every match, built once and shared by all recipe
+ * runs. A template is keyed by its code and imports; the types of typed parameters like
+ * {@code #{any(java.lang.Boolean)}} are part of its code, and the stubs of untyped parameters like {@code #{any()}}
+ * are cached per parameter type by the template itself.
+ * <p>
+ * The least recently used templates are evicted beyond {@link #MAX_TEMPLATES}, since some templates embed the name
+ * of a type of the source they are applied to. Lookups are counted in the {@code rewrite.staticanalysis.template.cache}
+ * counter, tagged with {@code result} {@code hit} or {@code miss}, and evictions in
+ * {@code rewrite.staticanalysis.template.cache.evictions}.
+ */
+final class TemplateCache {
+    static final int MAX_TEMPLATES = 512;
+
+    private static final Counter HITS = Counter.builder("rewrite.staticanalysis.template.cache")
+            .description("Lookups of a template in the shared template cache.")
+            .tag("result", "hit")
+            .register(Metrics.globalRegistry);
+
+    private static final Counter MISSES = Counter.builder("rewrite.staticanalysis.template.cache")
+            .description("Lookups of a template in the shared template cache.")
+            .tag("result", "miss")
+            .register(Metrics.globalRegistry);
+
+    private static final Counter EVICTIONS = Counter.builder("rewrite.staticanalysis.template.cache.evictions")
+            .description("Templates evicted from the shared template cache.")
+            .register(Metrics.globalRegistry);
+
+    private static final Map<String, JavaTemplate> TEMPLATES = new LinkedHashMap<String, JavaTemplate>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JavaTemplate> eldest) {
+            if (size() > MAX_TEMPLATES) {
+                EVICTIONS.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private TemplateCache() {
+    }
+
+    /**
+     * @param code    The template code, as passed to {@link JavaTemplate#builder(String)}.
+     * @param imports The types imported by the template.
+     */
+    static JavaTemplate get(String code, String... imports) {
+        StringBuilder key = new StringBuilder(code);
+        for (String i : imports) {
+            key.append('\0').append(i);
+        }
+        synchronized (TEMPLATES) {
+            JavaTemplate template = TEMPLATES.get(key.toString());
+            if (template != null) {
+                HITS.increment();
+                return template;
+            }
+            MISSES.increment();
+            template = JavaTemplate.builder(code).imports(imports).build();
+            TEMPLATES.put(key.toString(), template);
+            return template;
+        }
+    }
+}
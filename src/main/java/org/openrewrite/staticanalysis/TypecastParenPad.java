@@ -27,7 +27,6 @@ import org.openrewrite.java.style.TypecastParenPadStyle;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.staticanalysis.groovy.GroovyFileChecker;
-import org.openrewrite.style.Style;
 
 public class TypecastParenPad extends Recipe {
     @Getter
@@ -50,8 +49,8 @@ public class TypecastParenPad extends Recipe {
                     public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
                         if (tree instanceof JavaSourceFile) {
                             SourceFile cu = (SourceFile) tree;
-                            spacesStyle = Style.from(SpacesStyle.class, cu, IntelliJ::spaces);
-                            typecastParenPadStyle = Style.from(TypecastParenPadStyle.class, cu, Checkstyle::typecastParenPadStyle);
+                            spacesStyle = ResolvedStyles.from(SpacesStyle.class, cu, IntelliJ::spaces, ctx);
+                            typecastParenPadStyle = ResolvedStyles.from(TypecastParenPadStyle.class, cu, Checkstyle::typecastParenPadStyle, ctx);
 
                             spacesStyle = spacesStyle.withWithin(spacesStyle.getWithin().withTypeCastParentheses(typecastParenPadStyle.getSpace()));
                         }
@@ -17,8 +17,9 @@ package org.openrewrite.staticanalysis;
 
 import lombok.Getter;
 import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Recipe;
+import org.openrewrite.ScanningRecipe;
 import org.openrewrite.Tree;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
@@ -28,16 +29,13 @@ import org.openrewrite.java.JavadocVisitor;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.tree.*;
 
-import java.util.Comparator;
-import java.util.Optional;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.*;
 
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singleton;
 import static org.openrewrite.java.tree.J.Modifier.Type.*;
 
-public class UnnecessaryThrows extends Recipe {
+public class UnnecessaryThrows extends ScanningRecipe<ExceptionSummaries> {
 
     @Getter
     final String displayName = "Unnecessary throws";
@@ -59,16 +57,53 @@ public class UnnecessaryThrows extends Recipe {
     @Getter
     final Set<String> tags = singleton("RSPEC-S1130");
 
+    private static final String REPLACED_METHOD_TYPES_KEY = "REPLACED_METHOD_TYPES";
+
+    @Override
+    public ExceptionSummaries getInitialValue(ExecutionContext ctx) {
+        return new ExceptionSummaries();
+    }
+
     @Override
-    public TreeVisitor<?, ExecutionContext> getVisitor() {
+    public TreeVisitor<?, ExecutionContext> getScanner(ExceptionSummaries summaries) {
         return new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+                if (method.getMethodType() != null && !method.isAbstract() && !method.isConstructor() &&
+                        cannotBeOverridden(method, getCursor().firstEnclosing(J.ClassDeclaration.class))) {
+                    summaries.add(method);
+                }
+                return super.visitMethodDeclaration(method, ctx);
+            }
+        };
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(ExceptionSummaries summaries) {
+        return new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                if (summaries.withoutUnthrownExceptions(method.getMethodType()) != null) {
+                    // A method declared elsewhere lost thrown exceptions, so the call-site type needs updating
+                    replacedMethodTypes();
+                }
+                return super.visitMethodInvocation(method, ctx);
+            }
+
             @Override
             public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
                 J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
                 Set<JavaType.FullyQualified> unusedThrows = findExceptionCandidates(method);
 
-                if (!unusedThrows.isEmpty()) {
-
+                if (!unusedThrows.isEmpty() && summaries.isSummarized(method.getMethodType())) {
+                    // Exactly what callers in other source files are told the method still throws
+                    for (JavaType thrownException : summaries.getThrownExceptions(method.getMethodType())) {
+                        JavaType.FullyQualified type = TypeUtils.asFullyQualified(thrownException);
+                        if (type != null) {
+                            unusedThrows.remove(type);
+                        }
+                    }
+                } else if (!unusedThrows.isEmpty()) {
                     new JavaIsoVisitor<ExecutionContext>() {
 
                         @Override
@@ -120,47 +155,82 @@ public class UnnecessaryThrows extends Recipe {
 
                         private void removeThrownTypes(JavaType.@Nullable Method type) {
                             if (type != null) {
-                                for (JavaType thrownException : type.getThrownExceptions()) {
+                                for (JavaType thrownException : summaries.getThrownExceptions(type)) {
                                     unusedThrows.removeIf(t -> TypeUtils.isAssignableTo(t, thrownException));
                                 }
                             }
                         }
                     }.visit(m, ctx, getCursor().getParent());
+                }
 
-                    if (!unusedThrows.isEmpty()) {
-                        MethodMatcher originalMethodMatcher = new MethodMatcher(m);
-
-                        JavaType.Method replacementMethodType = m.getMethodType().withThrownExceptions(ListUtils.map(m.getMethodType().getThrownExceptions(), t -> {
-                            JavaType.FullyQualified type = TypeUtils.asFullyQualified(t);
-                            return type != null && unusedThrows.contains(type) ? null : t;
-                        }));
-                        m = m.withThrows(ListUtils.map(m.getThrows(), t -> {
-                                    JavaType.FullyQualified type = TypeUtils.asFullyQualified(t.getType());
-                                    if (type != null && unusedThrows.contains(type)) {
-                                        maybeRemoveImport(type);
-                                        return null;
-                                    }
-                                    return t;
-                                }))
-                                .withMethodType(replacementMethodType)
-                                .withName(m.getName().withType(replacementMethodType));
-
-                        // Remove the thrown exceptions from the method type, such that UnnecessaryCatch can continue
-                        doAfterVisit(new JavaIsoVisitor<ExecutionContext>() {
-                            @Override
-                            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation invocation, ExecutionContext ctx) {
-                                if (originalMethodMatcher.matches(invocation)) {
-                                    invocation =  invocation.withMethodType(replacementMethodType)
-                                            .withName(invocation.getName().withType(replacementMethodType));
+                if (!unusedThrows.isEmpty()) {
+                    MethodMatcher originalMethodMatcher = new MethodMatcher(m);
+
+                    JavaType.Method replacementMethodType = m.getMethodType().withThrownExceptions(ListUtils.map(m.getMethodType().getThrownExceptions(), t -> {
+                        JavaType.FullyQualified type = TypeUtils.asFullyQualified(t);
+                        return type != null && unusedThrows.contains(type) ? null : t;
+                    }));
+                    m = m.withThrows(ListUtils.map(m.getThrows(), t -> {
+                                JavaType.FullyQualified type = TypeUtils.asFullyQualified(t.getType());
+                                if (type != null && unusedThrows.contains(type)) {
+                                    maybeRemoveImport(type);
+                                    return null;
                                 }
+                                return t;
+                            }))
+                            .withMethodType(replacementMethodType)
+                            .withName(m.getName().withType(replacementMethodType));
+
+                    replacedMethodTypes()
+                            .computeIfAbsent(methodKey(method.getMethodType()), k -> new LinkedHashMap<>())
+                            .put(originalMethodMatcher, replacementMethodType);
+                }
+
+                return m;
+            }
+
+            /**
+             * The method types that lost thrown exceptions in this source file, keyed by {@link #methodKey} so that
+             * an invocation is only matched against the overloads of the method it calls. The first method to lose one
+             * schedules a single pass that updates all invocations and then removes the catches that became unnecessary.
+             */
+            private Map<String, Map<MethodMatcher, JavaType.Method>> replacedMethodTypes() {
+                Cursor sourceFileCursor = getCursor().dropParentUntil(JavaSourceFile.class::isInstance);
+                Map<String, Map<MethodMatcher, JavaType.Method>> replaced = sourceFileCursor.getMessage(REPLACED_METHOD_TYPES_KEY);
+                if (replaced == null) {
+                    replaced = new HashMap<>();
+                    sourceFileCursor.putMessage(REPLACED_METHOD_TYPES_KEY, replaced);
+                    Map<String, Map<MethodMatcher, JavaType.Method>> replacements = replaced;
+                    // Remove the thrown exceptions from the method type, such that UnnecessaryCatch can continue
+                    doAfterVisit(new JavaIsoVisitor<ExecutionContext>() {
+                        @Override
+                        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation invocation, ExecutionContext ctx) {
+                            JavaType.Method summarized = summaries.withoutUnthrownExceptions(invocation.getMethodType());
+                            if (summarized != null) {
+                                invocation = invocation.withMethodType(summarized)
+                                        .withName(invocation.getName().withType(summarized));
                                 return super.visitMethodInvocation(invocation, ctx);
                             }
-                        });
-                        doAfterVisit(new UnnecessaryCatch(true, false).getVisitor());
-                    }
+                            Map<MethodMatcher, JavaType.Method> overloads = replacements.get(methodKey(invocation.getMethodType()));
+                            if (overloads != null) {
+                                for (Map.Entry<MethodMatcher, JavaType.Method> replacement : overloads.entrySet()) {
+                                    if (replacement.getKey().matches(invocation)) {
+                                        invocation = invocation.withMethodType(replacement.getValue())
+                                                .withName(invocation.getName().withType(replacement.getValue()));
+                                        break;
+                                    }
+                                }
+                            }
+                            return super.visitMethodInvocation(invocation, ctx);
+                        }
+                    });
+                    doAfterVisit(new UnnecessaryCatch(true, false).getVisitor());
                 }
+                return replaced;
+            }
 
-                return m;
+            private @Nullable String methodKey(JavaType.@Nullable Method methodType) {
+                return methodType == null ? null : methodType.getDeclaringType().getFullyQualifiedName() + '#' + methodType.getName();
             }
 
             private Set<JavaType.FullyQualified> findExceptionCandidates(J.@Nullable MethodDeclaration method) {
@@ -170,11 +240,9 @@ public class UnnecessaryThrows extends Recipe {
                 }
 
                 // Do not change the API of methods that may be overridden
-                if (method.hasModifier(Protected) && !method.hasModifier(Final)) {
-                    J.ClassDeclaration cd = getCursor().firstEnclosing(J.ClassDeclaration.class);
-                    if (cd != null && !cd.hasModifier(Final)) {
-                        return emptySet();
-                    }
+                J.ClassDeclaration classDeclaration = getCursor().firstEnclosing(J.ClassDeclaration.class);
+                if (method.hasModifier(Protected) && !method.hasModifier(Final) && !isFinalClass(method, classDeclaration)) {
+                    return emptySet();
                 }
 
                 //Collect all checked exceptions.
@@ -195,11 +263,7 @@ public class UnnecessaryThrows extends Recipe {
                     return emptySet();
                 }
 
-                //noinspection ConstantConditions
-                if ((method.getMethodType().getDeclaringType() != null && method.getMethodType().getDeclaringType().getFlags().contains(Flag.Final)) ||
-                        method.isAbstract() || method.hasModifier(Static) ||
-                        method.hasModifier(Private) ||
-                        method.hasModifier(Final)) {
+                if (cannotBeOverridden(method, classDeclaration)) {
                     //Consider all checked exceptions as candidates if the type/method are final or the method is private or static.
                     return candidates;
                 }
@@ -240,4 +304,44 @@ public class UnnecessaryThrows extends Recipe {
         };
     }
 
+    /**
+     * Whether all checked exceptions of a method are candidates for removal. The scanner summarizes exactly these
+     * methods, so that callers in other source files see the same {@code throws} clause as the declaration.
+     */
+    private static boolean cannotBeOverridden(J.MethodDeclaration method, J.@Nullable ClassDeclaration classDeclaration) {
+        return isFinalClass(method, classDeclaration) ||
+                method.hasModifier(Static) && !method.hasModifier(Protected) ||
+                method.hasModifier(Private) ||
+                method.hasModifier(Final);
+    }
+
+    /**
+     * Whether the class declaring a method can't be extended, either because it is declared {@code final} or
+     * because it is a record, or an enum whose constants have no bodies.
+     */
+    private static boolean isFinalClass(J.MethodDeclaration method, J.@Nullable ClassDeclaration classDeclaration) {
+        JavaType.Method methodType = method.getMethodType();
+        if (methodType != null && methodType.getDeclaringType().getFlags().contains(Flag.Final)) {
+            return true;
+        }
+        if (classDeclaration == null) {
+            return false;
+        }
+        if (classDeclaration.hasModifier(Final) || classDeclaration.getKind() == J.ClassDeclaration.Kind.Type.Record) {
+            return true;
+        }
+        if (classDeclaration.getKind() == J.ClassDeclaration.Kind.Type.Enum) {
+            for (Statement statement : classDeclaration.getBody().getStatements()) {
+                if (statement instanceof J.EnumValueSet) {
+                    for (J.EnumValue value : ((J.EnumValueSet) statement).getEnums()) {
+                        if (value.getInitializer() != null && value.getInitializer().getBody() != null) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
 }
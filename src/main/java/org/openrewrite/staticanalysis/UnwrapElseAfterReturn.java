@@ -19,7 +19,6 @@ import lombok.Getter;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
-import org.openrewrite.Repeat;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.JavaVisitor;
@@ -48,6 +47,14 @@ public class UnwrapElseAfterReturn extends Recipe {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         JavaVisitor<ExecutionContext> javaVisitor = new JavaVisitor<ExecutionContext>() {
+            @Override
+            public J visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+                if (DirtyRegionWorklist.isClean(getCursor())) {
+                    return method;
+                }
+                return super.visitMethodDeclaration(method, ctx);
+            }
+
             @Override
             public J.Block visitBlock(J.Block block, ExecutionContext ctx) {
                 J.Block b = visitAndCast(block, ctx, super::visitBlock);
@@ -153,6 +160,6 @@ public class UnwrapElseAfterReturn extends Recipe {
                 return false;
             }
         };
-        return Repeat.repeatUntilStable(javaVisitor);
+        return DirtyRegionWorklist.repeatUntilStable(javaVisitor, J.MethodDeclaration.class);
     }
 }
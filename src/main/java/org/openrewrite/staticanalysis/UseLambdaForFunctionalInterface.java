@@ -50,11 +50,11 @@ public class UseLambdaForFunctionalInterface extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Repeat.repeatUntilStable(new JavaVisitor<ExecutionContext>() {
+        return DirtyRegionWorklist.repeatUntilStable(new JavaVisitor<ExecutionContext>() {
             @Override
             public J visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
                 // Don't convert anonymous classes to lambdas when located in an enum class, to avoid `Accessing static field from enum constructor is not allowed` errors.
-                if (classDecl.getKind() == J.ClassDeclaration.Kind.Type.Enum) {
+                if (classDecl.getKind() == J.ClassDeclaration.Kind.Type.Enum || DirtyRegionWorklist.isClean(getCursor())) {
                     return classDecl;
                 }
                 return super.visitClassDeclaration(classDecl, ctx);
@@ -261,7 +261,7 @@ public class UseLambdaForFunctionalInterface extends Recipe {
 
                 return "null";
             }
-        });
+        }, J.ClassDeclaration.class);
     }
 
     private static boolean usesThis(Cursor cursor) {
@@ -23,10 +23,13 @@ import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.staticanalysis.table.SourceFilesSkipped;
 
 public class UseListSort extends Recipe {
+    private static final String COLLECTIONS_SORT_PATTERN = "java.util.Collections sort(..)";
+
+    transient SourceFilesSkipped skipped = new SourceFilesSkipped(this);
 
     @Getter
     final String displayName = "Replace invocations of `Collections#sort(List, Comparator)` with `List#sort(Comparator)`";
@@ -34,10 +37,15 @@ public class UseListSort extends Recipe {
     @Getter
     final String description = "The `java.util.Collections#sort(..)` implementation defers to the `java.util.List#sort(Comparator)`, replaced it with the `java.util.List#sort(Comparator)` implementation for better readability.";
 
+    @Override
+    public void onComplete(ExecutionContext ctx) {
+        UsesAnyMethod.recordSkippedSourceFiles(this, skipped, ctx);
+    }
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        final MethodMatcher collectionsSort = new MethodMatcher("java.util.Collections sort(..)");
-        return Preconditions.check(new UsesMethod<>(collectionsSort), new JavaIsoVisitor<ExecutionContext>() {
+        final MethodMatcher collectionsSort = new MethodMatcher(COLLECTIONS_SORT_PATTERN);
+        return Preconditions.check(new UsesAnyMethod(this, COLLECTIONS_SORT_PATTERN), new JavaIsoVisitor<ExecutionContext>() {
             @Override
             public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                 J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
@@ -24,9 +24,9 @@ import org.openrewrite.internal.StringUtils;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.staticanalysis.table.SourceFilesSkipped;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
@@ -37,6 +37,9 @@ import java.util.Set;
 import static java.util.Collections.singleton;
 
 public class UseStandardCharset extends Recipe {
+    private static final String CHARSET_FOR_NAME_PATTERN = "java.nio.charset.Charset forName(java.lang.String)";
+
+    transient SourceFilesSkipped skipped = new SourceFilesSkipped(this);
 
     @Getter
     final String displayName = "Use `StandardCharset` constants";
@@ -54,10 +57,15 @@ public class UseStandardCharset extends Recipe {
     @Getter
     final Duration estimatedEffortPerOccurrence = Duration.ofMinutes(2);
 
+    @Override
+    public void onComplete(ExecutionContext ctx) {
+        UsesAnyMethod.recordSkippedSourceFiles(this, skipped, ctx);
+    }
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesType<>("java.nio.charset.Charset", false), new JavaVisitor<ExecutionContext>() {
-            final MethodMatcher CHARSET_FOR_NAME = new MethodMatcher("java.nio.charset.Charset forName(java.lang.String)");
+        return Preconditions.check(new UsesAnyMethod(this, CHARSET_FOR_NAME_PATTERN), new JavaVisitor<ExecutionContext>() {
+            final MethodMatcher CHARSET_FOR_NAME = new MethodMatcher(CHARSET_FOR_NAME_PATTERN);
 
             @Override
             public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
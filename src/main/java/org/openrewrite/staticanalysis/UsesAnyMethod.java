@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.marker.SearchResult;
+import org.openrewrite.staticanalysis.table.SourceFilesSkipped;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A precondition that a source file uses at least one of the methods a recipe changes, like a
+ * {@link org.openrewrite.java.search.UsesMethod} for each of them combined with {@code Preconditions.or}. Only the
+ * methods the parser recorded as used by the source file are checked, so a file that can't match is skipped without
+ * walking its tree. Their names are looked up in a hash set of the names in the method patterns first, so that most
+ * of them are rejected without running any matcher.
+ * <p>
+ * The number of source files each recipe skipped is recorded in its {@link SourceFilesSkipped} data table by
+ * {@link #recordSkippedSourceFiles(Recipe, SourceFilesSkipped, ExecutionContext)}, once the recipe run completes.
+ */
+final class UsesAnyMethod extends TreeVisitor<Tree, ExecutionContext> {
+    private static final String SKIPPED_KEY = "org.openrewrite.staticanalysis.SOURCE_FILES_SKIPPED";
+
+    private final String recipeName;
+    private final List<MethodMatcher> matchers = new ArrayList<>();
+
+    /**
+     * The method names of the patterns, or null when one of them matches several names.
+     */
+    private @Nullable Set<String> methodNames = new HashSet<>();
+
+    UsesAnyMethod(Recipe recipe, String... methodPatterns) {
+        this.recipeName = recipe.getName();
+        for (String methodPattern : methodPatterns) {
+            matchers.add(new MethodMatcher(methodPattern));
+            String methodName = methodName(methodPattern);
+            if (methodNames != null && methodName != null) {
+                methodNames.add(methodName);
+            } else {
+                methodNames = null;
+            }
+        }
+    }
+
+    @Override
+    public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+        return sourceFile instanceof JavaSourceFile;
+    }
+
+    @Override
+    public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+        if (tree instanceof JavaSourceFile) {
+            JavaSourceFile cu = (JavaSourceFile) tree;
+            for (JavaType.Method method : cu.getTypesInUse().getUsedMethods()) {
+                if (matches(method)) {
+                    return SearchResult.found(cu);
+                }
+            }
+            // By path, so that a source file skipped again in a later cycle is only counted once
+            ctx.<Map<String, Set<Path>>>computeMessageIfAbsent(SKIPPED_KEY, k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(recipeName, k -> ConcurrentHashMap.newKeySet())
+                    .add(cu.getSourcePath());
+        }
+        return tree;
+    }
+
+    /**
+     * Inserts a single row with the number of source files the precondition of the recipe skipped in this run.
+     * Called from {@link Recipe#onComplete(ExecutionContext)}.
+     */
+    static void recordSkippedSourceFiles(Recipe recipe, SourceFilesSkipped table, ExecutionContext ctx) {
+        Map<String, Set<Path>> skipped = ctx.getMessage(SKIPPED_KEY);
+        Set<Path> sourcePaths = skipped == null ? null : skipped.remove(recipe.getName());
+        if (sourcePaths != null) {
+            table.insertRow(ctx, new SourceFilesSkipped.Row(recipe.getName(), sourcePaths.size()));
+        }
+    }
+
+    private boolean matches(JavaType.Method method) {
+        if (methodNames != null && !methodNames.contains(method.getName())) {
+            return false;
+        }
+        for (MethodMatcher matcher : matchers) {
+            if (matcher.matches(method)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The method name of a pattern like {@code java.lang.System gc()}, or null when it has wildcards.
+     */
+    private static @Nullable String methodName(String methodPattern) {
+        int parameters = methodPattern.indexOf('(');
+        if (parameters < 0) {
+            return null;
+        }
+        String beforeParameters = methodPattern.substring(0, parameters).trim();
+        String methodName = beforeParameters.substring(Math.max(beforeParameters.lastIndexOf(' '), beforeParameters.lastIndexOf('#')) + 1);
+        return methodName.isEmpty() || methodName.contains("*") || methodName.contains(".") ? null : methodName;
+    }
+}
@@ -46,7 +46,7 @@ public class VariableReferences {
         return cursor;
     }
 
-    private static boolean isRhsValue(Cursor tree) {
+    static boolean isRhsValue(Cursor tree) {
         if (!(tree.getValue() instanceof J.Identifier)) {
             return false;
         }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis.table;
+
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+public class RecipePerformance extends DataTable<RecipePerformance.Row> {
+
+    public RecipePerformance(Recipe recipe) {
+        super(recipe,
+                "Recipe performance",
+                "The cost of running each recipe on each source file.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Recipe",
+                description = "The fully qualified name of the recipe.")
+        String recipe;
+
+        @Column(displayName = "Source path",
+                description = "The source file the recipe ran on.")
+        String sourcePath;
+
+        @Column(displayName = "Wall time (ns)",
+                description = "The elapsed time of the recipe's visitor on the source file.")
+        long wallTimeNanos;
+
+        @Column(displayName = "CPU time (ns)",
+                description = "The CPU time of the recipe's visitor on the source file, or -1 when the JVM doesn't measure it.")
+        long cpuTimeNanos;
+
+        @Column(displayName = "Allocated bytes",
+                description = "The bytes allocated by the recipe's visitor on the source file, or -1 when the JVM doesn't measure them.")
+        long allocatedBytes;
+
+        @Column(displayName = "Source file nodes",
+                description = "The number of tree nodes in the source file, whether or not the recipe's visitor visited them.")
+        int sourceFileNodes;
+
+        @Column(displayName = "Changes",
+                description = "The number of tree nodes in the result that are not in the original source file.")
+        int changes;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis.table;
+
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+public class RecipePerformanceSummary extends DataTable<RecipePerformanceSummary.Row> {
+
+    public RecipePerformanceSummary(Recipe recipe) {
+        super(recipe,
+                "Recipe performance summary",
+                "The distribution of the wall time of each recipe over all source files, and the slowest files for each.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Recipe",
+                description = "The fully qualified name of the recipe.")
+        String recipe;
+
+        @Column(displayName = "Source files",
+                description = "The number of source files the recipe ran on.")
+        int sourceFiles;
+
+        @Column(displayName = "Total wall time (ns)",
+                description = "The elapsed time of the recipe over all source files.")
+        long totalWallTimeNanos;
+
+        @Column(displayName = "p50 wall time (ns)",
+                description = "The median elapsed time of the recipe per source file.")
+        long p50WallTimeNanos;
+
+        @Column(displayName = "p99 wall time (ns)",
+                description = "The 99th percentile of the elapsed time of the recipe per source file.")
+        long p99WallTimeNanos;
+
+        @Column(displayName = "Max wall time (ns)",
+                description = "The longest elapsed time of the recipe on a single source file.")
+        long maxWallTimeNanos;
+
+        @Column(displayName = "Slowest source files",
+                description = "The source files the recipe took the longest on, slowest first.")
+        @Nullable
+        String slowestSourcePaths;
+    }
+}
@@ -624,6 +624,58 @@ class AnnotateNullableMethodsTest implements RewriteTest {
         );
     }
 
+    @Test
+    void propagateAcrossSourceFiles() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              package com.example;
+
+              public class Source {
+                  public String find(String key) {
+                      return key.isEmpty() ? null : key;
+                  }
+              }
+              """,
+            """
+              package com.example;
+
+              import org.jspecify.annotations.Nullable;
+
+              public class Source {
+                  public @Nullable String find(String key) {
+                      return key.isEmpty() ? null : key;
+                  }
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              package com.example;
+
+              public class Delegate {
+                  public String lookup(Source source) {
+                      return source.find("key");
+                  }
+              }
+              """,
+            """
+              package com.example;
+
+              import org.jspecify.annotations.Nullable;
+
+              public class Delegate {
+                  public @Nullable String lookup(Source source) {
+                      return source.find("key");
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Test
     void methodReturnsNullableArray() {
         rewriteRun(
@@ -17,9 +17,14 @@ package org.openrewrite.staticanalysis;
 
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
 
 class BigDecimalRoundingConstantsToEnumsTest implements RewriteTest {
@@ -90,4 +95,53 @@ class BigDecimalRoundingConstantsToEnumsTest implements RewriteTest {
           )
         );
     }
+
+    @SuppressWarnings({"deprecation", "ResultOfMethodCallIgnored"})
+    @Test
+    void replacementIsAttributedToRoundingModeOverload() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import java.math.BigDecimal;
+
+              class A {
+                  void divide(BigDecimal bd, BigDecimal bd2) {
+                      bd.divide(bd2, BigDecimal.ROUND_DOWN);
+                  }
+              }
+              """,
+            """
+              import java.math.BigDecimal;
+              import java.math.RoundingMode;
+
+              class A {
+                  void divide(BigDecimal bd, BigDecimal bd2) {
+                      bd.divide(bd2, RoundingMode.DOWN);
+                  }
+              }
+              """,
+            spec -> spec.afterRecipe(cu -> new JavaIsoVisitor<Integer>() {
+                @Override
+                public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Integer p) {
+                    JavaType.Method methodType = method.getMethodType();
+                    assertThat(methodType).isNotNull();
+                    assertThat(methodType.getName()).isEqualTo("divide");
+                    assertThat(methodType.getParameterTypes()).satisfiesExactly(
+                      bigDecimal -> assertThat(TypeUtils.isOfClassType(bigDecimal, "java.math.BigDecimal")).isTrue(),
+                      roundingMode -> assertThat(TypeUtils.isOfClassType(roundingMode, "java.math.RoundingMode")).isTrue()
+                    );
+                    assertThat(method.getName().getType()).isSameAs(methodType);
+
+                    J.FieldAccess down = (J.FieldAccess) method.getArguments().get(1);
+                    assertThat(TypeUtils.isOfClassType(down.getType(), "java.math.RoundingMode")).isTrue();
+                    assertThat(down.getName().getFieldType()).isNotNull();
+                    assertThat(down.getName().getFieldType().getName()).isEqualTo("DOWN");
+                    assertThat(TypeUtils.isOfClassType(down.getName().getFieldType().getOwner(), "java.math.RoundingMode")).isTrue();
+                    return method;
+                }
+            }.visit(cu, 0))
+          )
+        );
+    }
 }
@@ -64,6 +64,49 @@ class CatchClauseOnlyRethrowsTest implements RewriteTest {
         );
     }
 
+    @Test
+    void nestedStatementsAreDedented() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import java.io.FileReader;
+              import java.io.IOException;
+
+              class A {
+                  void foo(boolean b) throws IOException {
+                      try {
+                          if (b) {
+                              /*
+                               * read
+                               */
+                              new FileReader("").read();
+                          }
+                      } catch (IOException e) {
+                          throw e;
+                      }
+                  }
+              }
+              """,
+            """
+              import java.io.FileReader;
+              import java.io.IOException;
+
+              class A {
+                  void foo(boolean b) throws IOException {
+                      if (b) {
+                          /*
+                           * read
+                           */
+                          new FileReader("").read();
+                      }
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Test
     void rethrownButWithDifferentMessage() {
         rewriteRun(
@@ -93,6 +93,88 @@ class CombineSemanticallyEqualCatchBlocksTest implements RewriteTest {
         );
     }
 
+    @Test
+    void doNotCombineBlocksCallingDifferentMethods() {
+        rewriteRun(
+          //language=java
+          java("class A extends RuntimeException {}"),
+          //language=java
+          java("class B extends RuntimeException {}"),
+          //language=java
+          java(
+            """
+              class Test {
+                  void method() {
+                      try {
+                      } catch (A ex) {
+                          first(1);
+                      } catch (B ex) {
+                          second(1);
+                      }
+                  }
+
+                  void first(int i) {
+                  }
+
+                  void second(int i) {
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void combineSeveralGroupsOfEqualBlocks() {
+        rewriteRun(
+          //language=java
+          java("class A extends RuntimeException {}"),
+          //language=java
+          java("class B extends RuntimeException {}"),
+          //language=java
+          java("class C extends RuntimeException {}"),
+          //language=java
+          java("class D extends RuntimeException {}"),
+          //language=java
+          java(
+            """
+              class Test {
+                  void method() {
+                      try {
+                      } catch (A ex) {
+                          log(1);
+                      } catch (B ex) {
+                          log(1);
+                      } catch (C ex) {
+                          log(2);
+                      } catch (D ex) {
+                          log(2);
+                      }
+                  }
+
+                  void log(int i) {
+                  }
+              }
+              """,
+            """
+              class Test {
+                  void method() {
+                      try {
+                      } catch (A | B ex) {
+                          log(1);
+                      } catch (C | D ex) {
+                          log(2);
+                      }
+                  }
+
+                  void log(int i) {
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Test
     void childClassIsCaughtBeforeParentClass() {
         rewriteRun(
@@ -18,9 +18,14 @@ package org.openrewrite.staticanalysis;
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
 import org.openrewrite.Issue;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
 
 class CovariantEqualsTest implements RewriteTest {
@@ -62,6 +67,75 @@ class CovariantEqualsTest implements RewriteTest {
         );
     }
 
+    @Test
+    void typeCheckAndCastAreAttributed() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class Test {
+                  int n;
+
+                  public boolean equals(Test tee) {
+                      return n == tee.n;
+                  }
+              }
+              """,
+            """
+              class Test {
+                  int n;
+
+                  @Override
+                  public boolean equals(Object obj) {
+                      if (obj == this) return true;
+                      if (obj == null || getClass() != obj.getClass()) return false;
+                      Test tee = (Test) obj;
+                      return n == tee.n;
+                  }
+              }
+              """,
+            spec -> spec.afterRecipe(cu -> new JavaIsoVisitor<Integer>() {
+                @Override
+                public J.Annotation visitAnnotation(J.Annotation annotation, Integer p) {
+                    assertThat(TypeUtils.isOfClassType(annotation.getType(), "java.lang.Override")).isTrue();
+                    return annotation;
+                }
+
+                @Override
+                public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Integer p) {
+                    JavaType.Method methodType = method.getMethodType();
+                    assertThat(methodType).isNotNull();
+                    assertThat(methodType.getName()).isEqualTo("getClass");
+                    assertThat(TypeUtils.isOfClassType(methodType.getDeclaringType(), "java.lang.Object")).isTrue();
+                    assertThat(TypeUtils.isOfClassType(methodType.getReturnType(), "java.lang.Class")).isTrue();
+                    return super.visitMethodInvocation(method, p);
+                }
+
+                @Override
+                public J.TypeCast visitTypeCast(J.TypeCast typeCast, Integer p) {
+                    assertThat(TypeUtils.isOfClassType(typeCast.getType(), "Test")).isTrue();
+                    assertThat(TypeUtils.isOfClassType(typeCast.getExpression().getType(), "java.lang.Object")).isTrue();
+                    return typeCast;
+                }
+
+                @Override
+                public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable, Integer p) {
+                    JavaType.Variable variableType = variable.getVariableType();
+                    assertThat(variableType).isNotNull();
+                    if ("tee".equals(variable.getSimpleName())) {
+                        assertThat(TypeUtils.isOfClassType(variableType.getType(), "Test")).isTrue();
+                        assertThat(variableType.getOwner()).isInstanceOf(JavaType.Method.class);
+                        assertThat(((JavaType.Method) variableType.getOwner()).getParameterTypes()).satisfiesExactly(
+                          obj -> assertThat(TypeUtils.isOfClassType(obj, "java.lang.Object")).isTrue()
+                        );
+                    }
+                    return super.visitVariable(variable, p);
+                }
+            }.visit(cu, 0))
+          )
+        );
+    }
+
     @SuppressWarnings("UnnecessaryLocalVariable")
     @Test
     void replaceMultiStatementReturnBody() {
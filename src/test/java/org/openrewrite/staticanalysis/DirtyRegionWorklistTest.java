@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.test.RewriteTest.toRecipe;
+
+class DirtyRegionWorklistTest implements RewriteTest {
+
+    @Test
+    void onlyChangedRegionsAreRevisited() {
+        Map<String, Integer> visits = new HashMap<>();
+        rewriteRun(
+          spec -> spec.recipe(toRecipe(() -> DirtyRegionWorklist.repeatUntilStable(new JavaIsoVisitor<ExecutionContext>() {
+              @Override
+              public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+                  if (DirtyRegionWorklist.isClean(getCursor())) {
+                      return method;
+                  }
+                  visits.merge(method.getSimpleName(), 1, Integer::sum);
+                  return super.visitMethodDeclaration(method, ctx);
+              }
+
+              @Override
+              public J.Literal visitLiteral(J.Literal literal, ExecutionContext ctx) {
+                  // counts down by one per cycle, so that the method containing it needs several cycles
+                  if (literal.getValue() instanceof Integer && (Integer) literal.getValue() > 0) {
+                      int value = (Integer) literal.getValue() - 1;
+                      return literal.withValue(value).withValueSource(String.valueOf(value));
+                  }
+                  return literal;
+              }
+          }, J.MethodDeclaration.class))),
+          //language=java
+          java(
+            """
+              class Test {
+                  int changes() {
+                      return 2;
+                  }
+
+                  int stable() {
+                      return 0;
+                  }
+              }
+              """,
+            """
+              class Test {
+                  int changes() {
+                      return 0;
+                  }
+
+                  int stable() {
+                      return 0;
+                  }
+              }
+              """
+          )
+        );
+        assertThat(visits.get("stable")).isLessThan(visits.get("changes"));
+    }
+}
@@ -17,8 +17,13 @@ package org.openrewrite.staticanalysis;
 
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
 import org.openrewrite.test.RewriteTest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
 
 class ExplicitCharsetOnStringGetBytesTest implements RewriteTest {
@@ -52,4 +57,50 @@ class ExplicitCharsetOnStringGetBytesTest implements RewriteTest {
           )
         );
     }
+
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    @Test
+    void replacementIsAttributedToCharsetOverload() {
+        rewriteRun(
+          spec -> spec.recipe(new ExplicitCharsetOnStringGetBytes("US_ASCII")),
+          //language=java
+          java(
+            """
+              class Test {
+                  void test(String s) {
+                      s.getBytes();
+                  }
+              }
+              """,
+            """
+              import java.nio.charset.StandardCharsets;
+
+              class Test {
+                  void test(String s) {
+                      s.getBytes(StandardCharsets.US_ASCII);
+                  }
+              }
+              """,
+            spec -> spec.afterRecipe(cu -> new JavaIsoVisitor<Integer>() {
+                @Override
+                public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Integer p) {
+                    JavaType.Method methodType = method.getMethodType();
+                    assertThat(methodType).isNotNull();
+                    assertThat(methodType.getName()).isEqualTo("getBytes");
+                    assertThat(methodType.getParameterTypes()).satisfiesExactly(
+                      charset -> assertThat(TypeUtils.isOfClassType(charset, "java.nio.charset.Charset")).isTrue()
+                    );
+                    assertThat(method.getName().getType()).isSameAs(methodType);
+
+                    J.FieldAccess charset = (J.FieldAccess) method.getArguments().get(0);
+                    assertThat(TypeUtils.isOfClassType(charset.getType(), "java.nio.charset.Charset")).isTrue();
+                    assertThat(TypeUtils.isOfClassType(charset.getTarget().getType(), "java.nio.charset.StandardCharsets")).isTrue();
+                    assertThat(charset.getName().getFieldType()).isNotNull();
+                    assertThat(charset.getName().getFieldType().getName()).isEqualTo("US_ASCII");
+                    return method;
+                }
+            }.visit(cu, 0))
+          )
+        );
+    }
 }
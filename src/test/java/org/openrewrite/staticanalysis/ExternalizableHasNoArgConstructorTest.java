@@ -17,9 +17,15 @@ package org.openrewrite.staticanalysis;
 
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.Flag;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
 
 @SuppressWarnings("ALL")
@@ -88,6 +94,72 @@ class ExternalizableHasNoArgConstructorTest implements RewriteTest {
         );
     }
 
+    @Test
+    void addedConstructorIsAttributed() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import java.io.Externalizable;
+              import java.io.ObjectInput;
+              import java.io.ObjectOutput;
+
+              public class MyThing implements Externalizable {
+                  private String a;
+
+                  public MyThing(String a) {
+                      this.a = a;
+                  }
+
+                  @Override
+                  public void writeExternal(ObjectOutput out) {}
+
+                  @Override
+                  public void readExternal(ObjectInput in) {}
+              }
+              """,
+            """
+              import java.io.Externalizable;
+              import java.io.ObjectInput;
+              import java.io.ObjectOutput;
+
+              public class MyThing implements Externalizable {
+                  private String a;
+
+                  public MyThing() {
+                  }
+
+                  public MyThing(String a) {
+                      this.a = a;
+                  }
+
+                  @Override
+                  public void writeExternal(ObjectOutput out) {}
+
+                  @Override
+                  public void readExternal(ObjectInput in) {}
+              }
+              """,
+            spec -> spec.afterRecipe(cu -> new JavaIsoVisitor<Integer>() {
+                @Override
+                public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, Integer p) {
+                    if (!method.isConstructor() || !(method.getParameters().get(0) instanceof J.Empty)) {
+                        return method;
+                    }
+                    JavaType.Method methodType = method.getMethodType();
+                    assertThat(methodType).isNotNull();
+                    assertThat(methodType.isConstructor()).isTrue();
+                    assertThat(methodType.hasFlags(Flag.Public)).isTrue();
+                    assertThat(methodType.getParameterTypes()).isEmpty();
+                    assertThat(TypeUtils.isOfClassType(methodType.getDeclaringType(), "MyThing")).isTrue();
+                    assertThat(method.getName().getType()).isSameAs(methodType);
+                    return method;
+                }
+            }.visit(cu, 0))
+          )
+        );
+    }
+
     @Test
     void hasDefaultNoArgsConstructor() {
         rewriteRun(
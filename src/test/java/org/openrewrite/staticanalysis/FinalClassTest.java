@@ -87,6 +87,24 @@ class FinalClassTest implements RewriteTest {
         );
     }
 
+    @Test
+    void doNotFinalizeClassWithAnonymousSubclass() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class A {
+                  static final A INSTANCE = new A() {
+                  };
+
+                  private A() {
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Test
     void hasPublicConstructor() {
         rewriteRun(
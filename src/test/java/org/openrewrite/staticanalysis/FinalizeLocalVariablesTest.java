@@ -546,4 +546,57 @@ class FinalizeLocalVariablesTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void reassignedInLambdaAndInitializerBodies() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class Test {
+                  int total;
+
+                  {
+                      int a = 0;
+                      a += 1;
+                      int b = 2;
+                      total = a + b;
+                  }
+
+                  void method() {
+                      Runnable r = () -> {
+                          int count = 0;
+                          count++;
+                          int limit = 10;
+                          System.out.println(count + limit);
+                      };
+                      r.run();
+                  }
+              }
+              """,
+            """
+              class Test {
+                  int total;
+
+                  {
+                      int a = 0;
+                      a += 1;
+                      final int b = 2;
+                      total = a + b;
+                  }
+
+                  void method() {
+                      final Runnable r = () -> {
+                          int count = 0;
+                          count++;
+                          final int limit = 10;
+                          System.out.println(count + limit);
+                      };
+                      r.run();
+                  }
+              }
+              """
+          )
+        );
+    }
 }
@@ -193,6 +193,41 @@ class HiddenFieldTest implements RewriteTest {
         );
     }
 
+    @Test
+    void severalFieldsHiddenInOneMethod() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              public class A {
+                  private String first;
+                  private String second;
+
+                  public void method(String first, String second) {
+                      String first1 = first;
+                      Runnable r = () -> {
+                          String second1 = second;
+                      };
+                  }
+              }
+              """,
+            """
+              public class A {
+                  private String first;
+                  private String second;
+
+                  public void method(String first2, String second2) {
+                      String first1 = first2;
+                      Runnable r = () -> {
+                          String second1 = second2;
+                      };
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Test
     void methodBodyLocalVariable() {
         rewriteRun(
@@ -513,6 +548,45 @@ class HiddenFieldTest implements RewriteTest {
         );
     }
 
+    @Test
+    void incrementNumericSuffixOfHiddenFieldName() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              public class A {
+                  int n1;
+
+                  public void method(int n1) {
+                      {
+                          int n2 = 0;
+                      }
+                  }
+
+                  public void other() {
+                      int n1 = 0;
+                  }
+              }
+              """,
+            """
+              public class A {
+                  int n1;
+
+                  public void method(int n3) {
+                      {
+                          int n2 = 0;
+                      }
+                  }
+
+                  public void other() {
+                      int n2 = 0;
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Test
     void ignoreEnums() {
         rewriteRun(
@@ -18,8 +18,13 @@ package org.openrewrite.staticanalysis;
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
 import org.openrewrite.Issue;
+import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.style.HideUtilityClassConstructorStyle;
+import org.openrewrite.java.tree.Flag;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
 import org.openrewrite.style.NamedStyles;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
@@ -30,6 +35,7 @@ import java.util.function.Consumer;
 
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.Tree.randomId;
 import static org.openrewrite.java.Assertions.java;
 import static org.openrewrite.java.Assertions.version;
@@ -255,6 +261,48 @@ class HideUtilityClassConstructorTest implements RewriteTest {
         );
     }
 
+    @Test
+    void addedConstructorIsAttributed() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              public class Math {
+                  public static int addTwo(int a) {
+                      return a + 2;
+                  }
+              }
+              """,
+            """
+              public class Math {
+                  public static int addTwo(int a) {
+                      return a + 2;
+                  }
+
+                  private Math() {
+                  }
+              }
+              """,
+            spec -> spec.afterRecipe(cu -> new JavaIsoVisitor<Integer>() {
+                @Override
+                public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, Integer p) {
+                    if (!method.isConstructor()) {
+                        return method;
+                    }
+                    JavaType.Method methodType = method.getMethodType();
+                    assertThat(methodType).isNotNull();
+                    assertThat(methodType.isConstructor()).isTrue();
+                    assertThat(methodType.hasFlags(Flag.Private)).isTrue();
+                    assertThat(methodType.getParameterTypes()).isEmpty();
+                    assertThat(TypeUtils.isOfClassType(methodType.getDeclaringType(), "Math")).isTrue();
+                    assertThat(method.getName().getType()).isSameAs(methodType);
+                    return method;
+                }
+            }.visit(cu, 0))
+          )
+        );
+    }
+
     @Issue("https://github.com/openrewrite/rewrite/issues/538")
     @Test
     void ignoreClassesWithMainMethod() {
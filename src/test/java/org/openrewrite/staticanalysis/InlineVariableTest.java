@@ -304,6 +304,57 @@ class InlineVariableTest implements RewriteTest {
         );
     }
 
+    @Test
+    void removeDeclarationWhenSiblingBlockReadsSameName() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class Test {
+                  int test(boolean b) {
+                      if (b) {
+                          int x = 1;
+                          use(x);
+                          return 0;
+                      } else {
+                          int x;
+                          x = f();
+                          return x;
+                      }
+                  }
+
+                  int f() {
+                      return 1;
+                  }
+
+                  void use(int i) {
+                  }
+              }
+              """,
+            """
+              class Test {
+                  int test(boolean b) {
+                      if (b) {
+                          int x = 1;
+                          use(x);
+                          return 0;
+                      } else {
+                          return f();
+                      }
+                  }
+
+                  int f() {
+                      return 1;
+                  }
+
+                  void use(int i) {
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Test
     void inlineAssignmentThrow() {
         rewriteRun(
@@ -161,6 +161,47 @@ class InstanceOfPatternMatchTest implements RewriteTest {
             );
         }
 
+        @Test
+        void successiveIfsInOneMethod() {
+            rewriteRun(
+              //language=java
+              java(
+                """
+                  public class A {
+                      int test(Object a, Object b, Object c) {
+                          if (a instanceof String) {
+                              return ((String) a).length();
+                          }
+                          if (b instanceof Integer) {
+                              return (Integer) b;
+                          }
+                          if (c instanceof Number && ((Number) c).intValue() > 0) {
+                              return 1;
+                          }
+                          return 0;
+                      }
+                  }
+                  """,
+                """
+                  public class A {
+                      int test(Object a, Object b, Object c) {
+                          if (a instanceof String string) {
+                              return string.length();
+                          }
+                          if (b instanceof Integer integer) {
+                              return integer;
+                          }
+                          if (c instanceof Number number && number.intValue() > 0) {
+                              return 1;
+                          }
+                          return 0;
+                      }
+                  }
+                  """
+              )
+            );
+        }
+
         @Test
         void longNames() {
             rewriteRun(
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.staticanalysis.table.RecipePerformance;
+import org.openrewrite.staticanalysis.table.RecipePerformanceSummary;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class MeasureRecipePerformanceTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new MeasureRecipePerformance("org.openrewrite.staticanalysis.UnnecessaryParentheses", 1));
+    }
+
+    @Test
+    void measuresWithoutChangingSources() {
+        rewriteRun(
+          spec -> spec
+            .dataTable(RecipePerformance.Row.class, rows -> {
+                assertThat(rows).hasSize(2);
+                assertThat(rows).allSatisfy(row -> {
+                    assertThat(row.getRecipe()).isEqualTo("org.openrewrite.staticanalysis.UnnecessaryParentheses");
+                    assertThat(row.getWallTimeNanos()).isPositive();
+                    assertThat(row.getSourceFileNodes()).isPositive();
+                });
+                assertThat(rows)
+                  .filteredOn(row -> row.getSourcePath().equals("A.java"))
+                  .singleElement()
+                  .extracting(RecipePerformance.Row::getChanges)
+                  .isNotEqualTo(0);
+                assertThat(rows)
+                  .filteredOn(row -> row.getSourcePath().equals("B.java"))
+                  .singleElement()
+                  .extracting(RecipePerformance.Row::getChanges)
+                  .isEqualTo(0);
+            })
+            .dataTable(RecipePerformanceSummary.Row.class, rows -> assertThat(rows)
+              .singleElement()
+              .satisfies(row -> {
+                  assertThat(row.getSourceFiles()).isEqualTo(2);
+                  assertThat(row.getMaxWallTimeNanos()).isGreaterThanOrEqualTo(row.getP50WallTimeNanos());
+                  assertThat(row.getSlowestSourcePaths()).doesNotContain(",");
+              })),
+          //language=java
+          java(
+            """
+              class A {
+                  int a = (1);
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              class B {
+                  int b = 1;
+              }
+              """
+          )
+        );
+    }
+}
@@ -186,6 +186,76 @@ class MethodNameCasingTest implements RewriteTest {
         );
     }
 
+    @Test
+    void renameReferencesInOtherSourceFiles() {
+        rewriteRun(
+          spec -> spec.recipe(new MethodNameCasing(false, true)),
+          srcMainJava(
+            //language=java
+            java(
+              """
+                package com.example;
+
+                public class Util {
+                    public static void Do_Something() {}
+                }
+                """,
+              """
+                package com.example;
+
+                public class Util {
+                    public static void doSomething() {}
+                }
+                """
+            ),
+            //language=java
+            java(
+              """
+                package com.example;
+
+                import static com.example.Util.Do_Something;
+
+                class Caller {
+                    void call() {
+                        Do_Something();
+                        Runnable r = Util::Do_Something;
+                    }
+                }
+                """,
+              """
+                package com.example;
+
+                import static com.example.Util.doSomething;
+
+                class Caller {
+                    void call() {
+                        doSomething();
+                        Runnable r = Util::doSomething;
+                    }
+                }
+                """
+            ),
+            //language=java
+            java(
+              """
+                package com.example;
+
+                class Unrelated {
+                    void Do_Something() {}
+                }
+                """,
+              """
+                package com.example;
+
+                class Unrelated {
+                    void doSomething() {}
+                }
+                """
+            )
+          )
+        );
+    }
+
     @Issue("https://github.com/openrewrite/rewrite/issues/1741")
     @Test
     void doNotApplyToTest() {
@@ -129,6 +129,38 @@ class MissingOverrideAnnotationTest implements RewriteTest {
         );
     }
 
+    @Test
+    void orderedAmongExistingAnnotations() {
+        rewriteRun(
+          //language=java
+          java(testParentParent),
+          //language=java
+          java(
+            """
+              package com.example;
+
+              class Test extends TestParentParent {
+                  @Deprecated
+                  @SuppressWarnings("unused")
+                  public void testParentParent() {
+                  }
+              }
+              """,
+            """
+              package com.example;
+
+              class Test extends TestParentParent {
+                  @Deprecated
+                  @Override
+                  @SuppressWarnings("unused")
+                  public void testParentParent() {
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Test
     void whenAMethodOverridesFromAParent() {
         rewriteRun(
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.ScanningRecipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.marker.JavaSourceSet;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelScanTest implements RewriteTest {
+    private static final int SOURCE_FILES = 500;
+
+    private static List<SourceFile> sources;
+
+    @BeforeAll
+    static void generateRepository() {
+        String[] classes = new String[SOURCE_FILES];
+        for (int i = 0; i < SOURCE_FILES; i++) {
+            //language=java
+            classes[i] = String.format("""
+              package com.Example%d;
+
+              class A%d {
+                  private void Do_Something() {
+                  }
+
+                  void Get_Value%d() {
+                  }
+              }
+              """, i % 20, i, i);
+        }
+        JavaSourceSet main = JavaSourceSet.build("main", emptyList());
+        sources = JavaParser.fromJavaVersion().build()
+          .parse(new InMemoryExecutionContext(), classes)
+          .map(s -> s.<SourceFile>withMarkers(s.getMarkers().add(main)))
+          .collect(toList());
+    }
+
+    @Test
+    void methodNameCasing() throws Exception {
+        MethodNameCasing recipe = new MethodNameCasing(false, false);
+        List<MethodNameCasing.MethodNameChange> serial = scan(recipe, 1).getChanges();
+        assertThat(serial).hasSize(2 * SOURCE_FILES);
+        for (int i = 0; i < 5; i++) {
+            assertThat(scan(recipe, 16).getChanges()).isEqualTo(serial);
+        }
+    }
+
+    @Test
+    void lowercasePackage() throws Exception {
+        LowercasePackage recipe = new LowercasePackage();
+        Map<String, String> serial = scan(recipe, 1);
+        assertThat(serial).hasSize(20);
+        for (int i = 0; i < 5; i++) {
+            assertThat(scan(recipe, 16)).isEqualTo(serial);
+        }
+    }
+
+    @Test
+    void elementsAddedAfterReadingAreMergedOnTheNextRead() {
+        ScanBuffer<Integer> buffer = new ScanBuffer<>(Comparator.naturalOrder());
+        buffer.add(2);
+        assertThat(buffer.getElements()).containsExactly(2);
+        buffer.add(1);
+        assertThat(buffer.getElements()).containsExactly(1, 2);
+    }
+
+    private static <T> T scan(ScanningRecipe<T> recipe, int parallelism) throws Exception {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        T acc = recipe.getInitialValue(ctx);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            // A scanner per source file, as the scan phase of a recipe run creates them
+            pool.submit(() -> sources.parallelStream().forEach(s -> recipe.getScanner(acc).visit(s, ctx))).get();
+        } finally {
+            pool.shutdown();
+        }
+        return acc;
+    }
+}
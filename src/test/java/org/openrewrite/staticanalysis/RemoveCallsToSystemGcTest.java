@@ -17,9 +17,11 @@ package org.openrewrite.staticanalysis;
 
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
+import org.openrewrite.staticanalysis.table.SourceFilesSkipped;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
 
 class RemoveCallsToSystemGcTest implements RewriteTest {
@@ -64,4 +66,44 @@ class RemoveCallsToSystemGcTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void recordSkippedSourceFiles() {
+        rewriteRun(
+          spec -> spec.dataTable(SourceFilesSkipped.Row.class, rows -> assertThat(rows)
+            .containsExactly(new SourceFilesSkipped.Row(new RemoveCallsToSystemGc().getName(), 2))),
+          //language=java
+          java(
+            """
+              class A {
+                  void collect() {
+                      Runtime.getRuntime().gc();
+                  }
+              }
+              """,
+            """
+              class A {
+                  void collect() {
+                  }
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              class B {
+                  void gc() {
+                  }
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              class C {
+              }
+              """
+          )
+        );
+    }
 }
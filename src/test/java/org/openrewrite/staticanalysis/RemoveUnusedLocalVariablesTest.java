@@ -237,6 +237,95 @@ class RemoveUnusedLocalVariablesTest implements RewriteTest {
         );
     }
 
+    @Test
+    void removeWritesOfSeveralVariablesInTheDeclaringBlock() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class Test {
+                  static int method() {
+                      int a = 0;
+                      int b = 0;
+                      a = 1;
+                      b = 2;
+                      a += 3;
+                      return 4;
+                  }
+              }
+              """,
+            """
+              class Test {
+                  static int method() {
+                      return 4;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void removeWritesInNestedBlocks() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class Test {
+                  static int method(boolean b) {
+                      int notRead = 0;
+                      if (b) {
+                          notRead = 1;
+                      } else {
+                          notRead++;
+                          {
+                              notRead += 2;
+                          }
+                      }
+                      return 0;
+                  }
+              }
+              """,
+            """
+              class Test {
+                  static int method(boolean b) {
+                      if (b) {
+                      } else {
+                          {
+                          }
+                      }
+                      return 0;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void pruneWriteNestedInAnotherStatement() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class Test {
+                  static void method() {
+                      int notRead = 0;
+                      System.out.println(notRead = 1);
+                  }
+              }
+              """,
+            """
+              class Test {
+                  static void method() {
+                      System.out.println(1);
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Test
     void ignoreClassFields() {
         rewriteRun(
@@ -1297,6 +1386,165 @@ class RemoveUnusedLocalVariablesTest implements RewriteTest {
         );
     }
 
+    @Test
+    void manyLocalVariablesInOneMethod() {
+        StringBuilder before = new StringBuilder("class Test {\n    int method() {\n        int sum = 0;\n");
+        StringBuilder after = new StringBuilder(before);
+        for (int i = 0; i < 500; i++) {
+            String used = "        int used" + i + " = " + i + ";\n";
+            String increment = "        sum += used" + i + ";\n";
+            before.append(used).append("        int unused").append(i).append(" = ").append(i).append(";\n").append(increment);
+            after.append(used).append(increment);
+        }
+        String end = "        return sum;\n    }\n}\n";
+        rewriteRun(
+          java(before + end, after + end)
+        );
+    }
+
+    @Test
+    void removeStoreNeverReadAfterwards() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class Test {
+                  static int method(int a) {
+                      int x = a;
+                      System.out.println(x);
+                      x = 2;
+                      return a;
+                  }
+              }
+              """,
+            """
+              class Test {
+                  static int method(int a) {
+                      int x = a;
+                      System.out.println(x);
+                      return a;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void removeStoreOverwrittenBeforeRead() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class Test {
+                  static void method(int a) {
+                      int x;
+                      x = a + 1;
+                      x = a + 2;
+                      System.out.println(x);
+                  }
+              }
+              """,
+            """
+              class Test {
+                  static void method(int a) {
+                      int x;
+                      x = a + 2;
+                      System.out.println(x);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void removeStoreOverwrittenOnEveryBranch() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class Test {
+                  static int method(boolean b) {
+                      int x = 0;
+                      System.out.println(x);
+                      x = 1;
+                      if (b) {
+                          x = 2;
+                      } else {
+                          x = 3;
+                      }
+                      return x;
+                  }
+              }
+              """,
+            """
+              class Test {
+                  static int method(boolean b) {
+                      int x = 0;
+                      System.out.println(x);
+                      if (b) {
+                          x = 2;
+                      } else {
+                          x = 3;
+                      }
+                      return x;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepStoreReadInNextLoopIteration() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class Test {
+                  static int method(int[] values) {
+                      int sum = 0;
+                      int last = 0;
+                      for (int value : values) {
+                          sum = sum + last;
+                          last = value;
+                      }
+                      return sum;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepStoreReadInCatchBlock() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class Test {
+                  static void method() {
+                      int step = 0;
+                      try {
+                          step = 1;
+                          work();
+                          step = 2;
+                          work();
+                      } catch (RuntimeException e) {
+                          System.out.println(step);
+                      }
+                  }
+
+                  static void work() {
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Nested
     class Kotlin {
 
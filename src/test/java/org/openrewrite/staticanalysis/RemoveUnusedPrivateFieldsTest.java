@@ -495,6 +495,38 @@ class RemoveUnusedPrivateFieldsTest implements RewriteTest {
         );
     }
 
+    @Test
+    void removeFieldsOnlyUsedByOtherUnusedFields() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class Test {
+                  private int a = 1;
+                  private int b = a + 1;
+                  private int c = a + 2;
+                  private int d = 3;
+                  private int e = d;
+
+                  int method() {
+                      return e;
+                  }
+              }
+              """,
+            """
+              class Test {
+                  private int d = 3;
+                  private int e = d;
+
+                  int method() {
+                      return e;
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Issue("https://github.com/openrewrite/rewrite-static-analysis/issues/524")
     @Test
     void doNotRemoveWhenThereAreMissingTypes() {
@@ -103,6 +103,58 @@ class RemoveUnusedPrivateMethodsTest implements RewriteTest {
         );
     }
 
+    @Test
+    void removeMutuallyRecursivePrivateMethods() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class Test {
+                  private boolean isEven(int n) {
+                      return n == 0 || isOdd(n - 1);
+                  }
+
+                  private boolean isOdd(int n) {
+                      return n != 0 && isEven(n - 1);
+                  }
+
+                  private int factorial(int n) {
+                      return n <= 1 ? 1 : n * factorial(n - 1);
+                  }
+
+                  public void dontRemove() {
+                      dontRemove2();
+                  }
+
+                  private void dontRemove2() {
+                      dontRemove3();
+                  }
+
+                  private void dontRemove3() {
+                      dontRemove2();
+                  }
+              }
+              """,
+            """
+              class Test {
+
+                  public void dontRemove() {
+                      dontRemove2();
+                  }
+
+                  private void dontRemove2() {
+                      dontRemove3();
+                  }
+
+                  private void dontRemove3() {
+                      dontRemove2();
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @SuppressWarnings("MissingSerialAnnotation")
     @Test
     void doNotRemoveCustomizedSerialization() {
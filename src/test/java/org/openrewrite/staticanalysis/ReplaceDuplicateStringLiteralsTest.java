@@ -22,13 +22,15 @@ import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
 import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.java.Assertions.srcMainJava;
 import static org.openrewrite.java.Assertions.srcTestJava;
+import static org.openrewrite.test.SourceSpecs.doesNotExist;
 
 class ReplaceDuplicateStringLiteralsTest implements RewriteTest {
 
     @Override
     public void defaults(RecipeSpec spec) {
-        spec.recipe(new ReplaceDuplicateStringLiterals(true));
+        spec.recipe(new ReplaceDuplicateStringLiterals(true, null));
     }
 
     @DocumentExample
@@ -78,7 +80,7 @@ class ReplaceDuplicateStringLiteralsTest implements RewriteTest {
     @Test
     void doesNotApplyToTest() {
         rewriteRun(
-          spec -> spec.recipe(new ReplaceDuplicateStringLiterals(false)),
+          spec -> spec.recipe(new ReplaceDuplicateStringLiterals(false, null)),
           srcTestJava(
             //language=java
             java(
@@ -746,4 +748,315 @@ class ReplaceDuplicateStringLiteralsTest implements RewriteTest {
         );
     }
 
+    @Test
+    void consolidateAcrossClassesOfPackage() {
+        rewriteRun(
+          spec -> spec.recipe(new ReplaceDuplicateStringLiterals(true, true)),
+          //language=java
+          java(
+            """
+              package org.foo;
+              class A {
+                  final String val1 = "shared value";
+                  final String val2 = "shared value";
+              }
+              """,
+            """
+              package org.foo;
+              class A {
+                  final String val1 = Constants.SHARED_VALUE;
+                  final String val2 = Constants.SHARED_VALUE;
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              package org.foo;
+              class B {
+                  final String val1 = "shared value";
+              }
+              """,
+            """
+              package org.foo;
+              class B {
+                  final String val1 = Constants.SHARED_VALUE;
+              }
+              """
+          ),
+          //language=java
+          java(
+            doesNotExist(),
+            """
+              package org.foo;
+
+              final class Constants {
+                  static final String SHARED_VALUE = "shared value";
+
+                  private Constants() {
+                  }
+              }
+              """,
+            spec -> spec.path("org/foo/Constants.java")
+          )
+        );
+    }
+
+    @Test
+    void consolidationMakesNoChangesInLaterCycles() {
+        rewriteRun(
+          spec -> spec.recipe(new ReplaceDuplicateStringLiterals(true, true))
+            .cycles(3)
+            .expectedCyclesThatMakeChanges(1),
+          //language=java
+          java(
+            """
+              package org.foo;
+              class A {
+                  final String val1 = "shared value";
+                  final String val2 = "shared value";
+              }
+              """,
+            """
+              package org.foo;
+              class A {
+                  final String val1 = Constants.SHARED_VALUE;
+                  final String val2 = Constants.SHARED_VALUE;
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              package org.foo;
+              class B {
+                  final String val1 = "shared value";
+              }
+              """,
+            """
+              package org.foo;
+              class B {
+                  final String val1 = Constants.SHARED_VALUE;
+              }
+              """
+          ),
+          //language=java
+          java(
+            doesNotExist(),
+            """
+              package org.foo;
+
+              final class Constants {
+                  static final String SHARED_VALUE = "shared value";
+
+                  private Constants() {
+                  }
+              }
+              """,
+            spec -> spec.path("org/foo/Constants.java")
+          )
+        );
+    }
+
+    @Test
+    void constantsClassWithoutStringsKeepsItsName() {
+        rewriteRun(
+          spec -> spec.recipe(new ReplaceDuplicateStringLiterals(true, true)),
+          //language=java
+          java(
+            """
+              package org.foo;
+              class Constants {
+                  static final int LIMIT = 10;
+              }
+              """,
+            spec -> spec.path("org/foo/Constants.java")
+          ),
+          //language=java
+          java(
+            """
+              package org.foo;
+              class A {
+                  final String val1 = "shared value";
+                  final String val2 = "shared value";
+              }
+              """,
+            """
+              package org.foo;
+              class A {
+                  final String val1 = Constants1.SHARED_VALUE;
+                  final String val2 = Constants1.SHARED_VALUE;
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              package org.foo;
+              class B {
+                  final String val1 = "shared value";
+              }
+              """,
+            """
+              package org.foo;
+              class B {
+                  final String val1 = Constants1.SHARED_VALUE;
+              }
+              """
+          ),
+          //language=java
+          java(
+            doesNotExist(),
+            """
+              package org.foo;
+
+              final class Constants1 {
+                  static final String SHARED_VALUE = "shared value";
+
+                  private Constants1() {
+                  }
+              }
+              """,
+            spec -> spec.path("org/foo/Constants1.java")
+          )
+        );
+    }
+
+    @Test
+    void constantsClassOfTestSourceSetKeepsItsName() {
+        rewriteRun(
+          spec -> spec.recipe(new ReplaceDuplicateStringLiterals(false, true)),
+          srcMainJava(
+            //language=java
+            java(
+              """
+                package org.foo;
+                class A {
+                    final String val1 = "shared value";
+                    final String val2 = "shared value";
+                }
+                """,
+              """
+                package org.foo;
+                class A {
+                    final String val1 = Constants1.SHARED_VALUE;
+                    final String val2 = Constants1.SHARED_VALUE;
+                }
+                """
+            ),
+            //language=java
+            java(
+              """
+                package org.foo;
+                class B {
+                    final String val1 = "shared value";
+                }
+                """,
+              """
+                package org.foo;
+                class B {
+                    final String val1 = Constants1.SHARED_VALUE;
+                }
+                """
+            ),
+            //language=java
+            java(
+              doesNotExist(),
+              """
+                package org.foo;
+
+                final class Constants1 {
+                    static final String SHARED_VALUE = "shared value";
+
+                    private Constants1() {
+                    }
+                }
+                """,
+              spec -> spec.path("org/foo/Constants1.java")
+            )
+          ),
+          srcTestJava(
+            //language=java
+            java(
+              """
+                package org.foo;
+                class Constants {
+                    static final String NAME = "test constants";
+                }
+                """
+            )
+          )
+        );
+    }
+
+    @Test
+    void existingConstantIsPreferredOverConsolidatedOne() {
+        rewriteRun(
+          spec -> spec.recipe(new ReplaceDuplicateStringLiterals(true, true)),
+          //language=java
+          java(
+            """
+              package org.foo;
+              class A {
+                  private static final String SHARED = "shared value";
+                  final String val1 = "shared value";
+              }
+              """,
+            """
+              package org.foo;
+              class A {
+                  private static final String SHARED = "shared value";
+                  final String val1 = SHARED;
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              package org.foo;
+              class B {
+                  final String val1 = "shared value";
+                  final String val2 = "shared value";
+              }
+              """,
+            """
+              package org.foo;
+              class B {
+                  final String val1 = Constants.SHARED_VALUE;
+                  final String val2 = Constants.SHARED_VALUE;
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              package org.foo;
+              class C {
+                  final String val1 = "shared value";
+              }
+              """,
+            """
+              package org.foo;
+              class C {
+                  final String val1 = Constants.SHARED_VALUE;
+              }
+              """
+          ),
+          //language=java
+          java(
+            doesNotExist(),
+            """
+              package org.foo;
+
+              final class Constants {
+                  static final String SHARED_VALUE = "shared value";
+
+                  private Constants() {
+                  }
+              }
+              """,
+            spec -> spec.path("org/foo/Constants.java")
+          )
+        );
+    }
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.style.Checkstyle;
+import org.openrewrite.java.style.EmptyBlockStyle;
+import org.openrewrite.style.NamedStyles;
+
+import java.util.List;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.Tree.randomId;
+
+class ResolvedStylesTest {
+
+    @Test
+    void styleIsResolvedOncePerStyleMarkers() {
+        List<SourceFile> sourceFiles = JavaParser.fromJavaVersion().build()
+          .parse("class A {}", "class B {}").collect(toList());
+        SourceFile a = sourceFiles.get(0);
+        SourceFile b = sourceFiles.get(1);
+        ExecutionContext ctx = new InMemoryExecutionContext();
+
+        EmptyBlockStyle style = ResolvedStyles.from(EmptyBlockStyle.class, a, Checkstyle::emptyBlock, ctx);
+        assertThat(ResolvedStyles.from(EmptyBlockStyle.class, a, Checkstyle::emptyBlock, ctx)).isSameAs(style);
+        assertThat(ResolvedStyles.from(EmptyBlockStyle.class, b, Checkstyle::emptyBlock, ctx)).isSameAs(style);
+
+        SourceFile styled = b.withMarkers(b.getMarkers().add(new NamedStyles(randomId(), "checkstyle", "Checkstyle", null,
+          emptySet(), singleton(Checkstyle.emptyBlock().withBlockPolicy(EmptyBlockStyle.BlockPolicy.TEXT)))));
+        assertThat(ResolvedStyles.from(EmptyBlockStyle.class, styled, Checkstyle::emptyBlock, ctx).getBlockPolicy())
+          .isEqualTo(EmptyBlockStyle.BlockPolicy.TEXT);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class TemplateCacheTest implements RewriteTest {
+
+    @Test
+    void sameTemplateIsBuiltOnce() {
+        assertThat(TemplateCache.get("#{any()} == #{any()}")).isSameAs(TemplateCache.get("#{any()} == #{any()}"));
+        assertThat(TemplateCache.get("#{any()}.toArray(new #{}[0])", "java.util.Date"))
+          .isNotSameAs(TemplateCache.get("#{any()}.toArray(new #{}[0])", "java.util.UUID"));
+    }
+
+    @Test
+    void countsHitsOfEveryMatchAfterTheFirst() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            rewriteRun(
+              spec -> spec.recipe(new AvoidBoxedBooleanExpressions()),
+              //language=java
+              java(
+                """
+                  class Test {
+                      void test(Boolean a, Boolean b) {
+                          if (a) {
+                          }
+                          if (b) {
+                          }
+                      }
+                  }
+                  """,
+                """
+                  class Test {
+                      void test(Boolean a, Boolean b) {
+                          if (Boolean.TRUE.equals(a)) {
+                          }
+                          if (Boolean.TRUE.equals(b)) {
+                          }
+                      }
+                  }
+                  """
+              )
+            );
+            assertThat(registry.get("rewrite.staticanalysis.template.cache").tag("result", "hit").counter().count())
+              .isGreaterThanOrEqualTo(1);
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+}
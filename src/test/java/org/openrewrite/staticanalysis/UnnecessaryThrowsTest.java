@@ -510,4 +510,156 @@ class UnnecessaryThrowsTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void removeThrowsTransitivelyAcrossSourceFiles() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import java.io.IOException;
+
+              class A {
+                  static void read() throws IOException {
+                  }
+              }
+              """,
+            """
+              class A {
+                  static void read() {
+                  }
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              import java.io.IOException;
+
+              class B {
+                  private void delegate() throws IOException {
+                      A.read();
+                  }
+
+                  void handle() {
+                      try {
+                          delegate();
+                      } catch (IOException e) {
+                      }
+                  }
+              }
+              """,
+            """
+              class B {
+                  private void delegate() {
+                      A.read();
+                  }
+
+                  void handle() {
+                      delegate();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void updateCallsOfSeveralMethodsThatLoseThrows() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import java.io.IOException;
+
+              class Test {
+                  public void first() throws IOException {
+                  }
+
+                  public void second() throws IOException {
+                  }
+
+                  public void second(int i) throws IOException {
+                  }
+
+                  void caller() {
+                      try {
+                          first();
+                          second();
+                          second(1);
+                      } catch (IOException e) {
+                      }
+                  }
+              }
+              """,
+            """
+              class Test {
+                  public void first() {
+                  }
+
+                  public void second() {
+                  }
+
+                  public void second(int i) {
+                  }
+
+                  void caller() {
+                      first();
+                      second();
+                      second(1);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void removeThrowsOfProtectedEnumMethodAcrossSourceFiles() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import java.io.IOException;
+
+              enum Mode {
+                  READ;
+
+                  protected void open() throws IOException {
+                  }
+              }
+              """,
+            """
+              enum Mode {
+                  READ;
+
+                  protected void open() {
+                  }
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              import java.io.IOException;
+
+              class Caller {
+                  void call() {
+                      try {
+                          Mode.READ.open();
+                      } catch (IOException e) {
+                      }
+                  }
+              }
+              """,
+            """
+              class Caller {
+                  void call() {
+                      Mode.READ.open();
+                  }
+              }
+              """
+          )
+        );
+    }
 }